@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
 @Data
 @AllArgsConstructor
@@ -39,8 +40,8 @@ public class TaskEventDto {
     @Schema(description = "The task's deadline date and time.", example = "2025-10-15 17:00:00")
     private LocalDateTime dueDate;
 
-    @Schema(description = "The specific channel this message is intended for (EMAIL/TELEGRAM).", example = "EMAIL")
-    private String channel;
+    @Schema(description = "Channels this notification is delivered to (EMAIL/TELEGRAM). Each channel is sent once.", example = "[\"EMAIL\", \"TELEGRAM\"]")
+    private Set<String> channels;
 
     @Schema(description = "Specifies the exact type of task event (e.g., TASK_OVERDUE).", example = "TASK_OVERDUE", requiredMode = Schema.RequiredMode.REQUIRED)
     private String eventType;
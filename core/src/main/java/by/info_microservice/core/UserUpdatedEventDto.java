@@ -0,0 +1,29 @@
+package by.info_microservice.core;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(description = "Kafka event DTO published whenever a user's contact details change, so that cached copies can be dropped.")
+public class UserUpdatedEventDto {
+
+    @Schema(description = "Identifier of the changed user.", example = "55", requiredMode = Schema.RequiredMode.REQUIRED)
+    private Long userId;
+
+    @Schema(description = "User's current email address.", example = "newuser@example.com")
+    private String email;
+
+    @Schema(description = "User's current Telegram Chat ID (optional).", example = "987654321")
+    private Long telegramChatId;
+
+    @Schema(description = "Specifies what happened to the user (e.g., USER_REGISTERED, TELEGRAM_LINKED).", example = "TELEGRAM_LINKED", requiredMode = Schema.RequiredMode.REQUIRED)
+    private String eventType;
+
+    @Schema(description = "Timestamp when the event was generated.", example = "2025-10-10 18:00:00", requiredMode = Schema.RequiredMode.REQUIRED)
+    private LocalDateTime createdAt;
+}
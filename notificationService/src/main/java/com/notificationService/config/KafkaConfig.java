@@ -32,6 +32,16 @@ public class KafkaConfig {
     Environment environment;
     @Bean
     ConsumerFactory<String,Object> consumerFactory(){
+        return new DefaultKafkaConsumerFactory<>(consumerProps());
+    }
+    @Bean
+    ConsumerFactory<String, Object> batchConsumerFactory() {
+        Map<String, Object> props = consumerProps();
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, environment.getProperty("notification.kafka.batch.max-poll-records", Integer.class, 500));
+        props.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, environment.getProperty("notification.kafka.batch.fetch-max-wait-ms", Integer.class, 500));
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+    private Map<String, Object> consumerProps() {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, environment.getProperty("spring.kafka.consumer.bootstrap-servers"));
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
@@ -39,7 +49,7 @@ public class KafkaConfig {
         props.put(JsonDeserializer.TRUSTED_PACKAGES, environment.getProperty("spring.kafka.consumer.properties.spring.json.trusted.packages","*"));
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG,environment.getProperty("spring.kafka.consumer.auto-offset-reset","earliest"));
         props.put(ConsumerConfig.GROUP_ID_CONFIG, environment.getProperty("spring.kafka.consumer.group-id"));
-        return new DefaultKafkaConsumerFactory<>(props);
+        return props;
     }
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory(
@@ -51,6 +61,20 @@ public class KafkaConfig {
         factory.setCommonErrorHandler(errorHandler);
         return factory;
     }
+    // delivers a whole poll to the listener; a failed batch is retried and then sent to the DLT record by record
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> batchKafkaListenerContainerFactory(
+            DefaultErrorHandler errorHandler
+    ) {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(batchConsumerFactory());
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setPollTimeout(
+                environment.getProperty("notification.kafka.batch.poll-timeout-ms", Long.class, 3000L));
+        factory.setCommonErrorHandler(errorHandler);
+        return factory;
+    }
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
         Map<String, Object> props = new HashMap<>();
@@ -5,6 +5,9 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
 public class TelegramSendException extends RuntimeException {
+    public TelegramSendException(String message) {
+        super(message);
+    }
     public TelegramSendException(String message, Throwable cause) {
         super(message, cause);
     }
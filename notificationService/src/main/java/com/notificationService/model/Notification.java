@@ -14,8 +14,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 public class Notification {
+    // pooled ids (V2 notification_seq) instead of IDENTITY, so inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_seq")
+    @SequenceGenerator(name = "notification_seq", sequenceName = "notification_seq", allocationSize = 50)
     private Long id;
     @Column(nullable = false,name = "user_id")
     private Long userId;
@@ -37,4 +39,8 @@ public class Notification {
     @Column(nullable = true, name = "sent_at")
     private LocalDateTime sentAt;
     private String error_message;
+    @Column(nullable = false, name = "attempt_count")
+    private int attemptCount;
+    @Column(nullable = true, name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
 }
@@ -3,5 +3,6 @@ package com.notificationService.model;
 public enum Notification_status {
     PENDING,
     SENT,
-    FAILED
+    FAILED,
+    DEAD
 }
@@ -1,9 +1,30 @@
 package com.notificationService.repository;
 
 import com.notificationService.model.Notification;
+import com.notificationService.model.Notification_status;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long>{
+    // Hibernate's LockOptions.SKIP_LOCKED: instances polling at the same time claim disjoint rows
+    String SKIP_LOCKED = "-2";
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = SKIP_LOCKED))
+    @Query("SELECT n FROM Notification n WHERE n.status IN :statuses AND n.nextAttemptAt <= :now " +
+            "ORDER BY n.nextAttemptAt ASC")
+    List<Notification> findDueRetries(@Param("statuses") List<Notification_status> statuses,
+                                      @Param("now") LocalDateTime now,
+                                      Pageable batch);
 }
@@ -1,5 +1,7 @@
 package com.notificationService.service;
 
+import com.notificationService.dto.NotificationServiceRequest;
+import com.notificationService.exception.EmailSendException;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
@@ -7,11 +9,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.MailException;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 
 
 @Service
@@ -19,7 +26,7 @@ import java.io.UnsupportedEncodingException;
 public class EmailService {
     private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
 
-    private final JavaMailSender mailSender;
+    private final SmtpSessionPool smtpSessionPool;
 
     @Value("${app.mail.sender.email}")
     private String senderEmail;
@@ -29,24 +36,17 @@ public class EmailService {
 
     public void sendSimpleEmail(String toEmail, String subject, String body) {
         try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
-
-            helper.setFrom(senderEmail, senderName);
-            helper.setTo(toEmail);
-            helper.setSubject(subject);
-            helper.setText(body, false);
-
-            mailSender.send(message);
+            smtpSessionPool.send(simpleMessage(toEmail, subject, body));
             logger.info("Email sent to {} with subject: {}", toEmail, subject);
         } catch (MessagingException | MailException | UnsupportedEncodingException e) {
             logger.error("Failed to send email to {}. Error: {}", toEmail, e.getMessage(), e);
+            throw new EmailSendException("Failed to send email to " + toEmail, e);
         }
     }
 
     public void sendHtmlEmail(String toEmail, String subject, String htmlBody) {
         try {
-            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessage message = smtpSessionPool.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
 
             helper.setFrom(senderEmail, senderName);
@@ -54,10 +54,51 @@ public class EmailService {
             helper.setSubject(subject);
             helper.setText(htmlBody, true);
 
-            mailSender.send(message);
+            smtpSessionPool.send(message);
             logger.info("HTML email sent to {} with subject: {}", toEmail, subject);
         } catch (MessagingException | MailException | UnsupportedEncodingException e) {
             logger.error("Failed to send HTML email to {}. Error: {}", toEmail, e.getMessage(), e);
         }
     }
+
+    /**
+     * Sends the emails of {@code requests} as one batch over pooled SMTP connections and returns the
+     * failures keyed by the index of their request; requests missing from the map were sent.
+     */
+    public Map<Integer, Exception> sendSimpleEmails(List<NotificationServiceRequest> requests) {
+        Map<Integer, Exception> failed = new HashMap<>();
+        Map<MimeMessage, Integer> indexes = new IdentityHashMap<>();
+        List<MimeMessage> messages = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            NotificationServiceRequest request = requests.get(i);
+            try {
+                MimeMessage message = simpleMessage(request.getRecipient(), request.getSubject(), request.getMessage());
+                indexes.put(message, i);
+                messages.add(message);
+            } catch (MessagingException | UnsupportedEncodingException | IllegalArgumentException e) {
+                failed.put(i, e);
+            }
+        }
+        try {
+            smtpSessionPool.send(messages);
+        } catch (MailSendException e) {
+            e.getFailedMessages().forEach((message, error) -> failed.put(indexes.get(message), error));
+        } catch (MailException e) {
+            indexes.values().forEach(i -> failed.put(i, e));
+        }
+        logger.info("Email batch sent: {} of {} delivered", requests.size() - failed.size(), requests.size());
+        return failed;
+    }
+
+    private MimeMessage simpleMessage(String toEmail, String subject, String body)
+            throws MessagingException, UnsupportedEncodingException {
+        MimeMessage message = smtpSessionPool.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+
+        helper.setFrom(senderEmail, senderName);
+        helper.setTo(toEmail);
+        helper.setSubject(subject);
+        helper.setText(body, false);
+        return message;
+    }
 }
@@ -0,0 +1,155 @@
+package com.notificationService.service;
+
+import com.notificationService.exception.InvalidNotificationRequestException;
+import com.notificationService.model.Channel;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Sends notifications off the Kafka consumer thread, on one bounded executor per channel so a slow
+ * SMTP server can't hold up Telegram sends. When a channel's queue reaches {@code pause-at} of its
+ * capacity the task event listeners are paused until every queue has drained to {@code resume-at};
+ * a send that still finds its queue full is rejected rather than run on the calling (listener) thread.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationDispatcher {
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${notification.dispatch.email.threads:8}")
+    private int emailThreads = 8;
+    @Value("${notification.dispatch.telegram.threads:4}")
+    private int telegramThreads = 4;
+    @Value("${notification.dispatch.queue-capacity:1000}")
+    private int queueCapacity = 1000;
+    @Value("${notification.dispatch.pause-at:0.8}")
+    private double pauseAt = 0.8;
+    @Value("${notification.dispatch.resume-at:0.2}")
+    private double resumeAt = 0.2;
+
+    private final Map<Channel, ThreadPoolExecutor> executors = new EnumMap<>(Channel.class);
+    private final AtomicBoolean paused = new AtomicBoolean();
+
+    @PostConstruct
+    void start() {
+        executors.put(Channel.EMAIL, executor(Channel.EMAIL, emailThreads));
+        executors.put(Channel.TELEGRAM, executor(Channel.TELEGRAM, telegramThreads));
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        executors.values().forEach(ThreadPoolExecutor::shutdown);
+        for (ThreadPoolExecutor executor : executors.values()) {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("{} notifications were still queued at shutdown", executor.getQueue().size());
+            }
+        }
+    }
+
+    /**
+     * Queues {@code send} on the channel's executor. Returns false without running it when the queue is full
+     * or the dispatcher is shutting down; the caller then leaves the notification to the retry poller.
+     */
+    public boolean dispatch(Channel channel, Runnable send) {
+        ThreadPoolExecutor executor = executors.get(channel);
+        if (executor == null) {
+            throw new InvalidNotificationRequestException("Unsupported channel: " + channel);
+        }
+        long queuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> run(channel, send, queuedAt));
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("notification.dispatch.rejected", "channel", channel.name()).increment();
+            log.warn("{} dispatch queue is full, notification left for the retry poller", channel);
+            return false;
+        }
+        if (executor.getQueue().size() >= pauseAt * queueCapacity && paused.compareAndSet(false, true)) {
+            log.warn("{} dispatch queue holds {} notifications, pausing task event listeners",
+                    channel, executor.getQueue().size());
+            meterRegistry.counter("notification.dispatch.pauses", "channel", channel.name()).increment();
+            listenerContainers(MessageListenerContainer::pause);
+        }
+        return true;
+    }
+
+    boolean isPaused() {
+        return paused.get();
+    }
+
+    int queueDepth(Channel channel) {
+        return executors.get(channel).getQueue().size();
+    }
+
+    private void run(Channel channel, Runnable send, long queuedAt) {
+        long startedAt = System.nanoTime();
+        meterRegistry.timer("notification.dispatch.wait", "channel", channel.name())
+                .record(startedAt - queuedAt, TimeUnit.NANOSECONDS);
+        String outcome = "success";
+        try {
+            send.run();
+        } catch (RuntimeException e) {
+            outcome = "failure";
+            log.debug("{} dispatch failed: {}", channel, e.getMessage());
+        } finally {
+            meterRegistry.timer("notification.dispatch.latency", "channel", channel.name(), "outcome", outcome)
+                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            resumeIfDrained();
+        }
+    }
+
+    private void resumeIfDrained() {
+        if (!paused.get()) {
+            return;
+        }
+        boolean drained = executors.values().stream()
+                .allMatch(executor -> executor.getQueue().size() <= resumeAt * queueCapacity);
+        if (drained && paused.compareAndSet(true, false)) {
+            log.info("Dispatch queues drained, resuming task event listeners");
+            listenerContainers(MessageListenerContainer::resume);
+        }
+    }
+
+    private void listenerContainers(Consumer<MessageListenerContainer> action) {
+        for (String id : TaskEventConsumer.LISTENER_IDS) {
+            MessageListenerContainer container = listenerRegistry.getListenerContainer(id);
+            if (container != null) {
+                action.accept(container);
+            }
+        }
+    }
+
+    private ThreadPoolExecutor executor(Channel channel, int threads) {
+        String name = channel.name().toLowerCase(Locale.ROOT);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("dispatch-" + name + "-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        Gauge.builder("notification.dispatch.queue.depth", executor, e -> e.getQueue().size())
+                .tag("channel", channel.name())
+                .register(meterRegistry);
+        Gauge.builder("notification.dispatch.active", executor, ThreadPoolExecutor::getActiveCount)
+                .tag("channel", channel.name())
+                .register(meterRegistry);
+        return executor;
+    }
+}
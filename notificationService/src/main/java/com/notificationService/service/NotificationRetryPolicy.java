@@ -0,0 +1,69 @@
+package com.notificationService.service;
+
+import com.notificationService.model.Notification;
+import com.notificationService.model.Notification_status;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with full jitter: the n-th failed attempt is retried after a random delay in
+ * {@code [0, min(max-delay, base-delay * 2^(n-1))]}, so notifications failing together don't come back
+ * together. After {@code max-attempts} failures a notification is DEAD.
+ */
+@Slf4j
+@Component
+public class NotificationRetryPolicy {
+    @Value("${notification.retry.max-attempts:5}")
+    private int maxAttempts = 5;
+    @Value("${notification.retry.base-delay-ms:30000}")
+    private long baseDelayMs = 30_000;
+    @Value("${notification.retry.max-delay-ms:3600000}")
+    private long maxDelayMs = 3_600_000;
+    @Value("${notification.retry.claim-lease-ms:300000}")
+    private long claimLeaseMs = 300_000;
+
+    public void recordFailure(Notification notification, String error, LocalDateTime now) {
+        int attempts = notification.getAttemptCount() + 1;
+        notification.setAttemptCount(attempts);
+        notification.setError_message(error);
+        if (attempts >= maxAttempts) {
+            notification.setStatus(Notification_status.DEAD);
+            notification.setNextAttemptAt(null);
+            log.warn("Notification {} is dead after {} attempts: {}", notification.getId(), attempts, error);
+            return;
+        }
+        notification.setStatus(Notification_status.FAILED);
+        notification.setNextAttemptAt(now.plus(backoff(attempts)));
+    }
+
+    /**
+     * Hands a notification that was never attempted, because its dispatch queue was full, to the retry
+     * poller without spending one of its attempts.
+     */
+    public void defer(Notification notification, String reason, LocalDateTime now) {
+        notification.setStatus(Notification_status.FAILED);
+        notification.setError_message(reason);
+        notification.setNextAttemptAt(now.plus(backoff(notification.getAttemptCount() + 1)));
+    }
+
+    /**
+     * How long a claimed retry stays invisible to other pollers; if this instance dies before saving the
+     * outcome, the notification is claimed again once the lease ran out.
+     */
+    public Duration claimLease() {
+        return Duration.ofMillis(claimLeaseMs);
+    }
+
+    Duration backoff(int attempt) {
+        long cap = baseDelayMs << Math.min(attempt - 1, 30);
+        if (cap <= 0 || cap > maxDelayMs) {
+            cap = maxDelayMs;
+        }
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(cap + 1));
+    }
+}
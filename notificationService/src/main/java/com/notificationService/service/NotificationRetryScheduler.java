@@ -0,0 +1,44 @@
+package com.notificationService.service;
+
+import com.notificationService.model.Notification;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationRetryScheduler {
+    private final NotificationService notificationService;
+
+    @Value("${notification.retry.enabled:true}")
+    private boolean enabled;
+    @Value("${notification.retry.batch-size:200}")
+    private int batchSize;
+
+    // one batch per poll: the backoff already spreads retries out, the poller shouldn't bunch them up again
+    @Scheduled(fixedDelayString = "${notification.retry.poll-interval-ms:5000}")
+    public void retryDue() {
+        if (!enabled) {
+            return;
+        }
+        List<Notification> due = notificationService.claimDueRetries(LocalDateTime.now(), batchSize);
+        if (due.isEmpty()) {
+            return;
+        }
+        log.info("Retrying {} failed or stale pending notifications", due.size());
+        for (Notification notification : due) {
+            try {
+                notificationService.retry(notification);
+            } catch (RuntimeException e) {
+                // left as is, claimed again when the lease runs out
+                log.warn("Failed to dispatch retry of notification {}: {}", notification.getId(), e.getMessage());
+            }
+        }
+    }
+}
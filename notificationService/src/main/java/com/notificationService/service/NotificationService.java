@@ -13,10 +13,15 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Slf4j
@@ -26,29 +31,128 @@ public class NotificationService {
     private final NotificationRepository notificationRepository;
     private final EmailService emailService;
     private final TelegramService telegramService;
+    private final NotificationDispatcher dispatcher;
+    private final NotificationRetryPolicy retryPolicy;
+
+    @Value("${notification.mail.batch-size:50}")
+    private int emailBatchSize = 50;
+
     public void sendNotification(NotificationServiceRequest request) {
-        if (request.getChannel() == null || request.getMessage() == null) {
+        if (!isValid(request)) {
             throw new InvalidNotificationRequestException("Channel and message must not be null");
         }
-         Notification notification = Notification.builder()
-            .userId(request.getUserId())
-            .recipient(request.getRecipient())
-            .recipientTelegramId(request.getRecipientTelegramId())
-            .channel(request.getChannel())
-            .subject(request.getSubject())
-            .message(request.getMessage())
-            .status(Notification_status.PENDING)
-            .createdAt(LocalDateTime.now())
-            .build();
-
-        notification = notificationRepository.saveAndFlush(notification);
+        Notification notification = notificationRepository.saveAndFlush(toPendingNotification(request));
+        Long notificationId = notification.getId();
 
-        processNotificationAsync(notification.getId(), request);
+        dispatch(request.getChannel(), List.of(notification), () -> processNotification(notificationId, request));
+    }
+    /**
+     * Persists a poll's worth of notifications with one batched INSERT, then hands them to the dispatcher;
+     * emails go out in chunks of {@code notification.mail.batch-size} over one pooled SMTP connection.
+     * Invalid requests are dropped, since redelivering them could never succeed.
+     */
+    public void sendNotifications(List<NotificationServiceRequest> requests) {
+        List<NotificationServiceRequest> valid = new ArrayList<>(requests.size());
+        for (NotificationServiceRequest request : requests) {
+            if (isValid(request)) {
+                valid.add(request);
+            } else {
+                log.warn("Dropping notification for user {} without channel or message", request.getUserId());
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+        List<Notification> notifications = notificationRepository.saveAll(
+                valid.stream().map(this::toPendingNotification).toList());
+        List<Notification> emails = new ArrayList<>();
+        List<NotificationServiceRequest> emailRequests = new ArrayList<>();
+        for (int i = 0; i < notifications.size(); i++) {
+            Notification notification = notifications.get(i);
+            NotificationServiceRequest request = valid.get(i);
+            if (request.getChannel() == Channel.EMAIL) {
+                emails.add(notification);
+                emailRequests.add(request);
+            } else {
+                dispatch(request.getChannel(), List.of(notification), () -> deliver(notification, request));
+            }
+        }
+        for (int from = 0; from < emails.size(); from += emailBatchSize) {
+            int to = Math.min(from + emailBatchSize, emails.size());
+            List<Notification> chunk = emails.subList(from, to);
+            List<NotificationServiceRequest> chunkRequests = emailRequests.subList(from, to);
+            dispatch(Channel.EMAIL, chunk, () -> deliverEmails(chunk, chunkRequests));
+        }
+    }
+    // a full dispatch queue rejects the send instead of running it on the Kafka listener thread;
+    // the notifications are saved FAILED with a next attempt, for the retry poller to deliver
+    private void dispatch(Channel channel, List<Notification> notifications, Runnable send) {
+        if (dispatcher.dispatch(channel, send)) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        notifications.forEach(notification -> retryPolicy.defer(notification, "Dispatch queue full", now));
+        notificationRepository.saveAll(notifications);
     }
-    @Async("taskExecutor")
-    public void processNotificationAsync(Long notificationId, NotificationServiceRequest request) {
+    // a failure of the whole chunk (pool exhausted, SMTP session lost) counts as a failed attempt of every
+    // message in it; if even the outcome can't be saved, the rows stay due for the retry poller
+    private void deliverEmails(List<Notification> notifications, List<NotificationServiceRequest> requests) {
+        Map<Integer, Exception> failed;
+        try {
+            failed = emailService.sendSimpleEmails(requests);
+        } catch (RuntimeException e) {
+            log.error("Email batch of {} failed: {}", notifications.size(), e.getMessage(), e);
+            failed = new HashMap<>();
+            for (int i = 0; i < notifications.size(); i++) {
+                failed.put(i, e);
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < notifications.size(); i++) {
+            Notification notification = notifications.get(i);
+            Exception error = failed.get(i);
+            if (error == null) {
+                markSent(notification, now);
+            } else {
+                retryPolicy.recordFailure(notification, error.getMessage(), now);
+            }
+        }
+        try {
+            notificationRepository.saveAll(notifications);
+        } catch (RuntimeException e) {
+            log.error("Failed to save the outcome of {} emails, leaving them to the retry poller: {}",
+                    notifications.size(), e.getMessage(), e);
+        }
+    }
+    private boolean isValid(NotificationServiceRequest request) {
+        return request.getChannel() != null && request.getMessage() != null;
+    }
+    // a PENDING row is due for the retry poller one claim lease after it was created, so a send lost
+    // with its queued dispatch (a crash, an unexpected error) is still delivered or ends up DEAD
+    private Notification toPendingNotification(NotificationServiceRequest request) {
+        LocalDateTime now = LocalDateTime.now();
+        return Notification.builder()
+                .userId(request.getUserId())
+                .recipient(request.getRecipient())
+                .recipientTelegramId(request.getRecipientTelegramId())
+                .channel(request.getChannel())
+                .subject(request.getSubject())
+                .message(request.getMessage())
+                .status(Notification_status.PENDING)
+                .createdAt(now)
+                .nextAttemptAt(now.plus(retryPolicy.claimLease()))
+                .build();
+    }
+    public void processNotification(Long notificationId, NotificationServiceRequest request) {
         Notification notification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new NotificationNotFoundException("Notification with id="  + notificationId + " not found"));
+        deliver(notification, request);
+    }
+    private void deliver(Notification notification, NotificationServiceRequest request) {
+        if (request.getChannel() == Channel.TELEGRAM) {
+            deliverTelegram(notification, request);
+            return;
+        }
         try {
             switch (request.getChannel()) {
                 case EMAIL -> {
@@ -56,32 +160,16 @@ public class NotificationService {
                         emailService.sendSimpleEmail(request.getRecipient(),
                                 request.getSubject(),
                                 request.getMessage());
-                        notification.setStatus(Notification_status.SENT);
+                        markSent(notification, LocalDateTime.now());
                     } catch (Exception e) {
-                        notification.setStatus(Notification_status.FAILED);
-                        notification.setError_message(e.getMessage());
-                        //throw new EmailSendException("Failed to send email to " + request.getRecipient(), e);
-                    }
-                }
-                case TELEGRAM -> {
-                    try {
-                        telegramService.sendMessage(request.getRecipientTelegramId(),
-                                request.getMessage());
-                        notification.setStatus(Notification_status.SENT);
-                    } catch (Exception e) {
-                        notification.setStatus(Notification_status.FAILED);
-                        notification.setSentAt(LocalDateTime.now());
-                        //throw new TelegramSendException("Failed to send telegram to " + request.getRecipientTelegramId(), e);
+                        retryPolicy.recordFailure(notification, e.getMessage(), LocalDateTime.now());
                     }
                 }
                 default -> throw new InvalidNotificationRequestException("Unsupported channel: " + request.getChannel());
             }
-
-//            notification.setStatus(Notification_status.SENT);
-            notification.setSentAt(LocalDateTime.now());
         } catch (RuntimeException ex) {
             log.error("Notification {} failed: {}", notification.getId(), ex.getMessage(), ex);
-            notification.setStatus(Notification_status.FAILED);
+            retryPolicy.recordFailure(notification, ex.getMessage(), LocalDateTime.now());
             throw new NotificationProcessingException("Notification processing failed for id=" + notification.getId(), ex);
         }finally {
             notificationRepository.save(notification);
@@ -89,4 +177,49 @@ public class NotificationService {
 
 
     }
+    /**
+     * Telegram sends are paced by {@link TelegramOutboundQueue}, so the status is saved from its callback
+     * instead of holding a dispatch thread until the message went out.
+     */
+    private void deliverTelegram(Notification notification, NotificationServiceRequest request) {
+        telegramService.sendMessage(request.getRecipientTelegramId(), request.getMessage())
+                .whenComplete((sent, error) -> {
+                    if (error == null) {
+                        markSent(notification, LocalDateTime.now());
+                    } else {
+                        retryPolicy.recordFailure(notification, error.getMessage(), LocalDateTime.now());
+                    }
+                    notificationRepository.save(notification);
+                });
+    }
+    private void markSent(Notification notification, LocalDateTime now) {
+        notification.setStatus(Notification_status.SENT);
+        notification.setSentAt(now);
+        notification.setNextAttemptAt(null);
+    }
+    /**
+     * Claims up to {@code batchSize} notifications whose retry is due, FAILED ones and PENDING ones that
+     * were not settled within a claim lease of being created, skipping rows another instance has locked,
+     * and hides them from other pollers for the claim lease until their outcome is saved.
+     */
+    @Transactional
+    public List<Notification> claimDueRetries(LocalDateTime now, int batchSize) {
+        List<Notification> due = notificationRepository.findDueRetries(
+                List.of(Notification_status.FAILED, Notification_status.PENDING), now,
+                PageRequest.of(0, batchSize));
+        LocalDateTime leaseUntil = now.plus(retryPolicy.claimLease());
+        due.forEach(notification -> notification.setNextAttemptAt(leaseUntil));
+        return due;
+    }
+    public void retry(Notification notification) {
+        NotificationServiceRequest request = NotificationServiceRequest.builder()
+                .userId(notification.getUserId())
+                .recipient(notification.getRecipient())
+                .recipientTelegramId(notification.getRecipientTelegramId())
+                .channel(notification.getChannel())
+                .subject(notification.getSubject())
+                .message(notification.getMessage())
+                .build();
+        dispatch(notification.getChannel(), List.of(notification), () -> deliver(notification, request));
+    }
 }
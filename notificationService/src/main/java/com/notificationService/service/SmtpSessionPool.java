@@ -0,0 +1,231 @@
+package com.notificationService.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.mail.MailSendException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps up to {@code max-connections} authenticated SMTP connections open, so TLS and AUTH are paid
+ * once per connection instead of once per email. A connection that has been idle for {@code max-idle-ms},
+ * has carried {@code max-messages-per-connection} messages or fails a send is closed; a send that fails
+ * because the connection dropped is retried once on a fresh one.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SmtpSessionPool {
+    private final MailProperties mailProperties;
+
+    @Value("${notification.mail.pool.max-connections:4}")
+    private int maxConnections = 4;
+    @Value("${notification.mail.pool.max-idle-ms:60000}")
+    private long maxIdleMs = 60_000;
+    @Value("${notification.mail.pool.max-messages-per-connection:100}")
+    private int maxMessagesPerConnection = 100;
+    @Value("${notification.mail.pool.borrow-timeout-ms:30000}")
+    private long borrowTimeoutMs = 30_000;
+    @Value("${notification.mail.pool.eviction-interval-ms:30000}")
+    private long evictionIntervalMs = 30_000;
+
+    private final Deque<PooledTransport> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger opened = new AtomicInteger();
+    private Semaphore permits;
+    private Session session;
+    private ScheduledExecutorService evictor;
+
+    private static final class PooledTransport {
+        private final Transport transport;
+        private long lastUsedAt = System.currentTimeMillis();
+        private int sent;
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        Properties properties = new Properties();
+        properties.putAll(mailProperties.getProperties());
+        session = Session.getInstance(properties);
+        permits = new Semaphore(maxConnections, true);
+        evictor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("smtp-pool-evictor-"));
+        evictor.scheduleWithFixedDelay(this::evictIdle, evictionIntervalMs, evictionIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        evictor.shutdownNow();
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            close(pooled);
+        }
+    }
+
+    public MimeMessage createMimeMessage() {
+        return new MimeMessage(session);
+    }
+
+    public void send(MimeMessage message) {
+        send(List.of(message));
+    }
+
+    /**
+     * Sends {@code messages} in order over as few pooled connections as possible. Messages that could
+     * not be sent are reported together in a {@link MailSendException}; the rest are delivered.
+     */
+    public void send(List<MimeMessage> messages) {
+        Map<Object, Exception> failed = new LinkedHashMap<>();
+        MimeMessage retried = null;
+        int next = 0;
+        while (next < messages.size()) {
+            PooledTransport pooled;
+            try {
+                pooled = borrow();
+            } catch (MessagingException | MailSendException e) {
+                log.warn("Cannot open an SMTP connection for {} messages: {}", messages.size() - next, e.getMessage());
+                messages.subList(next, messages.size()).forEach(message -> failed.put(message, e));
+                break;
+            }
+            boolean healthy = true;
+            try {
+                while (next < messages.size() && pooled.sent < maxMessagesPerConnection) {
+                    MimeMessage message = messages.get(next);
+                    try {
+                        sendMessage(pooled, message);
+                        next++;
+                    } catch (MessagingException e) {
+                        if (pooled.transport.isConnected()) {
+                            // rejected by the server, e.g. an invalid recipient; the connection is still good
+                            failed.put(message, e);
+                            next++;
+                            continue;
+                        }
+                        healthy = false;
+                        if (retried == message) {
+                            failed.put(message, e);
+                            next++;
+                        } else {
+                            log.debug("SMTP connection dropped, retrying on a new one: {}", e.getMessage());
+                            retried = message;
+                        }
+                        break;
+                    }
+                }
+            } finally {
+                release(pooled, healthy);
+            }
+        }
+        if (!failed.isEmpty()) {
+            throw new MailSendException(failed);
+        }
+    }
+
+    void evictIdle() {
+        long now = System.currentTimeMillis();
+        Iterator<PooledTransport> iterator = idle.iterator();
+        while (iterator.hasNext()) {
+            PooledTransport pooled = iterator.next();
+            if (now - pooled.lastUsedAt >= maxIdleMs && idle.removeFirstOccurrence(pooled)) {
+                close(pooled);
+            }
+        }
+    }
+
+    int idleConnections() {
+        return idle.size();
+    }
+
+    int openedConnections() {
+        return opened.get();
+    }
+
+    private PooledTransport borrow() throws MessagingException {
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new MailSendException("No SMTP connection became available within " + borrowTimeoutMs + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted while waiting for an SMTP connection", e);
+        }
+        try {
+            PooledTransport pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                if (System.currentTimeMillis() - pooled.lastUsedAt < maxIdleMs && pooled.transport.isConnected()) {
+                    return pooled;
+                }
+                close(pooled);
+            }
+            return connect();
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private PooledTransport connect() throws MessagingException {
+        Transport transport = session.getTransport(mailProperties.getProtocol());
+        transport.connect(mailProperties.getHost(),
+                mailProperties.getPort() != null ? mailProperties.getPort() : -1,
+                mailProperties.getUsername(), mailProperties.getPassword());
+        opened.incrementAndGet();
+        log.debug("Opened SMTP connection to {}", mailProperties.getHost());
+        return new PooledTransport(transport);
+    }
+
+    private void sendMessage(PooledTransport pooled, MimeMessage message) throws MessagingException {
+        if (message.getSentDate() == null) {
+            message.setSentDate(new Date());
+        }
+        message.saveChanges();
+        pooled.transport.sendMessage(message, message.getAllRecipients());
+        pooled.sent++;
+    }
+
+    private void release(PooledTransport pooled, boolean healthy) {
+        try {
+            if (healthy && pooled.sent < maxMessagesPerConnection) {
+                pooled.lastUsedAt = System.currentTimeMillis();
+                // most recently used first, so the connections at the tail age out when traffic drops
+                idle.offerFirst(pooled);
+            } else {
+                close(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void close(PooledTransport pooled) {
+        try {
+            pooled.transport.close();
+        } catch (MessagingException e) {
+            log.debug("Failed to close SMTP connection: {}", e.getMessage());
+        }
+    }
+}
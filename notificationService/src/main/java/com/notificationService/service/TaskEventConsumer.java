@@ -10,64 +10,106 @@ import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TaskEventConsumer {
+    static final String LISTENER_ID = "task-events";
+    static final String BATCH_LISTENER_ID = "task-events-batch";
+    static final List<String> LISTENER_IDS = List.of(LISTENER_ID, BATCH_LISTENER_ID);
+
     private final NotificationService notificationService;
-    @KafkaListener(topics = "task-events-topic", groupId = "notification-service",containerFactory = "kafkaListenerContainerFactory")
+    @KafkaListener(id = LISTENER_ID, topics = "task-events-topic", groupId = "notification-service",containerFactory = "kafkaListenerContainerFactory",
+            autoStartup = "#{!${notification.kafka.batch.enabled:true}}")
     public void consume(TaskEventDto event) {
         log.info("Received event type: {}", event.getEventType());
-        switch (event.getEventType()) {
-            case "TASK_OVERDUE" -> {
-                if (event.getRecipient() != null) {
-                    notificationService.sendNotification(NotificationServiceRequest.builder()
-                            .userId(event.getUserId())
-                            .recipient(event.getRecipient())
-                            .subject("The task is overdue!")
-                            .message("You have not completed the task " + event.getTitle() + ". Please complete it as soon as possible!")
-                            .channel(Channel.EMAIL)
-                            .status(Notification_status.SENT)
-                            .createdAt(LocalDateTime.now())
-                            .build());
-                }
-                if (event.getRecipientTelegramId() != null) {
-                    notificationService.sendNotification(NotificationServiceRequest.builder()
-                            .userId(event.getUserId())
-                            .recipientTelegramId(event.getRecipientTelegramId())
-                            .subject("The task is overdue!")
-                            .message("You have not completed the task " + event.getTitle() + ". Please complete it as soon as possible!")
-                            .channel(Channel.TELEGRAM)
-                            .status(Notification_status.SENT)
-                            .createdAt(LocalDateTime.now())
-                            .build());
-                }
+        toRequests(event).forEach(notificationService::sendNotification);
+    }
+
+    @KafkaListener(id = BATCH_LISTENER_ID, topics = "task-events-topic", groupId = "notification-service", containerFactory = "batchKafkaListenerContainerFactory",
+            autoStartup = "${notification.kafka.batch.enabled:true}")
+    public void consumeBatch(List<TaskEventDto> events) {
+        log.info("Received {} task events", events.size());
+        List<NotificationServiceRequest> requests = new ArrayList<>();
+        for (TaskEventDto event : events) {
+            requests.addAll(toRequests(event));
+        }
+        if (!requests.isEmpty()) {
+            notificationService.sendNotifications(requests);
+        }
+    }
+
+    private List<NotificationServiceRequest> toRequests(TaskEventDto event) {
+        return switch (event.getEventType()) {
+            case "TASK_OVERDUE" -> toRequests(event, "The task is overdue!",
+                    "You have not completed the task " + event.getTitle() + ". Please complete it as soon as possible!");
+            case "TASK_SOON_OVERDUE" -> toRequests(event, "The task will soon be overdue!",
+                    "Less than 15 minutes left until the deadline for the task: " + event.getTitle() + ". Hurry up!");
+            default -> {
+                log.warn("Unsupported task event type: {}", event.getEventType());
+                yield List.of();
             }
-            case "TASK_SOON_OVERDUE" -> {
-                if (event.getRecipient() != null) {
-                    notificationService.sendNotification(NotificationServiceRequest.builder()
-                            .userId(event.getUserId())
-                            .recipient(event.getRecipient())
-                            .subject("The task will soon be overdue!")
-                            .message("Less than 15 minutes left until the deadline for the task: " + event.getTitle() + ". Hurry up!")
-                            .channel(Channel.EMAIL)
-                            .status(Notification_status.SENT)
-                            .createdAt(LocalDateTime.now())
-                            .build());
+        };
+    }
+
+    private List<NotificationServiceRequest> toRequests(TaskEventDto event, String subject, String message) {
+        List<NotificationServiceRequest> requests = new ArrayList<>();
+        for (Channel channel : resolveChannels(event)) {
+            NotificationServiceRequest.NotificationServiceRequestBuilder request = NotificationServiceRequest.builder()
+                    .userId(event.getUserId())
+                    .subject(subject)
+                    .message(message)
+                    .channel(channel)
+                    .status(Notification_status.SENT)
+                    .createdAt(LocalDateTime.now());
+            switch (channel) {
+                case EMAIL -> {
+                    if (event.getRecipient() == null) {
+                        log.warn("Task {} event has no email recipient, EMAIL skipped", event.getTaskId());
+                        continue;
+                    }
+                    request.recipient(event.getRecipient());
                 }
-                if (event.getRecipientTelegramId() != null) {
-                    notificationService.sendNotification(NotificationServiceRequest.builder()
-                            .userId(event.getUserId())
-                            .recipientTelegramId(event.getRecipientTelegramId())
-                            .subject("The task will soon be overdue!")
-                            .message("Less than 15 minutes left until the deadline for the task: " + event.getTitle() + ". Hurry up!")
-                            .channel(Channel.TELEGRAM)
-                            .status(Notification_status.SENT)
-                            .createdAt(LocalDateTime.now())
-                            .build());
+                case TELEGRAM -> {
+                    if (event.getRecipientTelegramId() == null) {
+                        log.warn("Task {} event has no telegram recipient, TELEGRAM skipped", event.getTaskId());
+                        continue;
+                    }
+                    request.recipientTelegramId(event.getRecipientTelegramId());
                 }
             }
+            requests.add(request.build());
+        }
+        return requests;
+    }
+
+    private Set<Channel> resolveChannels(TaskEventDto event) {
+        Set<Channel> channels = EnumSet.noneOf(Channel.class);
+        if (event.getChannels() == null || event.getChannels().isEmpty()) {
+            if (event.getRecipient() != null) {
+                channels.add(Channel.EMAIL);
+            }
+            if (event.getRecipientTelegramId() != null) {
+                channels.add(Channel.TELEGRAM);
+            }
+            return channels;
+        }
+        for (String name : event.getChannels()) {
+            if (name == null) {
+                log.warn("Null channel on task {} event, skipped", event.getTaskId());
+                continue;
+            }
+            try {
+                channels.add(Channel.valueOf(name));
+            } catch (IllegalArgumentException e) {
+                log.warn("Unknown channel {} on task {} event, skipped", name, event.getTaskId());
+            }
         }
+        return channels;
     }
 }
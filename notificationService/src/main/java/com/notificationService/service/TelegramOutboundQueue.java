@@ -0,0 +1,265 @@
+package com.notificationService.service;
+
+import com.notificationService.exception.TelegramSendException;
+import com.pengrad.telegrambot.Callback;
+import com.pengrad.telegrambot.TelegramBot;
+import com.pengrad.telegrambot.request.SendMessage;
+import com.pengrad.telegrambot.response.SendResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Paces outgoing Telegram messages under the Bot API limits: a global token bucket of
+ * {@code global-per-second} and a bucket of {@code chat-per-second} per chat. Messages waiting for the
+ * same chat are sent as one message, a 429 puts them back until its {@code retry_after} has passed,
+ * and sends go through the bot's async {@code execute} so no thread waits on the HTTP call.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TelegramOutboundQueue {
+    private static final int MAX_MESSAGE_LENGTH = 4096;
+    private static final String SEPARATOR = "\n\n";
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final TelegramBot telegramBot;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${notification.telegram.global-per-second:30}")
+    private double globalPerSecond = 30;
+    @Value("${notification.telegram.chat-per-second:1}")
+    private double chatPerSecond = 1;
+    @Value("${notification.telegram.coalesce-max:10}")
+    private int coalesceMax = 10;
+    @Value("${notification.telegram.max-retries:3}")
+    private int maxRetries = 3;
+    @Value("${notification.telegram.max-pending:10000}")
+    private int maxPending = 10_000;
+    @Value("${notification.telegram.enqueue-timeout-ms:30000}")
+    private long enqueueTimeoutMs = 30_000;
+    @Value("${notification.telegram.tick-ms:50}")
+    private long tickMs = 50;
+
+    // insertion order is the round-robin order; a chat moves to the end after each send
+    private final Map<Long, ChatQueue> chats = new LinkedHashMap<>();
+    private TokenBucket global;
+    private Semaphore capacity;
+    private ScheduledExecutorService ticker;
+
+    private static final class Pending {
+        private final String text;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private int attempts;
+
+        private Pending(String text) {
+            this.text = text;
+        }
+    }
+
+    private static final class ChatQueue {
+        private final Deque<Pending> pending = new ArrayDeque<>();
+        private final TokenBucket bucket;
+        private long blockedUntil;
+        private boolean inFlight;
+
+        private ChatQueue(TokenBucket bucket, long nowNanos) {
+            this.bucket = bucket;
+            this.blockedUntil = nowNanos;
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        global = new TokenBucket(globalPerSecond, globalPerSecond, System.nanoTime());
+        capacity = new Semaphore(maxPending);
+        Gauge.builder("notification.telegram.pending", capacity, permits -> maxPending - permits.availablePermits())
+                .register(meterRegistry);
+        ticker = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("telegram-outbound-"));
+        ticker.scheduleWithFixedDelay(() -> {
+            try {
+                drain(System.nanoTime());
+            } catch (RuntimeException e) {
+                log.error("Telegram outbound drain failed: {}", e.getMessage(), e);
+            }
+        }, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        ticker.shutdownNow();
+        List<Pending> abandoned = new ArrayList<>();
+        synchronized (this) {
+            chats.values().forEach(chat -> abandoned.addAll(chat.pending));
+            chats.clear();
+        }
+        abandoned.forEach(message -> message.future.completeExceptionally(
+                new TelegramSendException("Telegram outbound queue stopped")));
+    }
+
+    /**
+     * Queues {@code text} for {@code chatId}; the future completes once Telegram accepted it. Waits up to
+     * {@code enqueue-timeout-ms} while {@code max-pending} messages are already queued.
+     */
+    public CompletableFuture<Void> enqueue(Long chatId, String text) {
+        try {
+            if (!capacity.tryAcquire(enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return CompletableFuture.failedFuture(
+                        new TelegramSendException("Telegram outbound queue is full, dropping message to " + chatId));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(
+                    new TelegramSendException("Interrupted while queueing Telegram message to " + chatId, e));
+        }
+        Pending message = new Pending(text);
+        message.future.whenComplete((sent, error) -> capacity.release());
+        synchronized (this) {
+            long now = System.nanoTime();
+            chats.computeIfAbsent(chatId, id -> new ChatQueue(new TokenBucket(1, chatPerSecond, now), now))
+                    .pending.addLast(message);
+        }
+        return message.future;
+    }
+
+    void drain(long nowNanos) {
+        Map<Long, List<Pending>> sends = new LinkedHashMap<>();
+        synchronized (this) {
+            Iterator<Map.Entry<Long, ChatQueue>> iterator = chats.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Long, ChatQueue> entry = iterator.next();
+                ChatQueue chat = entry.getValue();
+                if (chat.pending.isEmpty()) {
+                    // kept until its bucket refills, otherwise the next message would skip the per-chat pause
+                    if (!chat.inFlight && chat.bucket.isFull(nowNanos)) {
+                        iterator.remove();
+                    }
+                    continue;
+                }
+                if (chat.inFlight || nowNanos - chat.blockedUntil < 0 || !chat.bucket.hasToken(nowNanos)) {
+                    continue;
+                }
+                if (!global.tryAcquire(nowNanos)) {
+                    break;
+                }
+                chat.bucket.tryAcquire(nowNanos);
+                chat.inFlight = true;
+                sends.put(entry.getKey(), coalesce(chat));
+            }
+            for (Long chatId : sends.keySet()) {
+                chats.put(chatId, chats.remove(chatId));
+            }
+        }
+        sends.forEach(this::execute);
+    }
+
+    synchronized int pendingMessages(Long chatId) {
+        ChatQueue chat = chats.get(chatId);
+        return chat == null ? 0 : chat.pending.size();
+    }
+
+    private List<Pending> coalesce(ChatQueue chat) {
+        List<Pending> batch = new ArrayList<>();
+        int length = 0;
+        while (!chat.pending.isEmpty() && batch.size() < coalesceMax) {
+            int added = chat.pending.peekFirst().text.length() + (batch.isEmpty() ? 0 : SEPARATOR.length());
+            if (!batch.isEmpty() && length + added > MAX_MESSAGE_LENGTH) {
+                break;
+            }
+            batch.add(chat.pending.pollFirst());
+            length += added;
+        }
+        return batch;
+    }
+
+    private void execute(Long chatId, List<Pending> batch) {
+        String text = batch.stream().map(message -> message.text).collect(Collectors.joining(SEPARATOR));
+        try {
+            telegramBot.execute(new SendMessage(chatId, text), new Callback<SendMessage, SendResponse>() {
+                @Override
+                public void onResponse(SendMessage request, SendResponse response) {
+                    completed(chatId, batch, response);
+                }
+
+                @Override
+                public void onFailure(SendMessage request, IOException e) {
+                    finish(chatId, batch, new TelegramSendException("Failed to send Telegram message to " + chatId, e));
+                }
+            });
+        } catch (RuntimeException e) {
+            finish(chatId, batch, new TelegramSendException("Failed to send Telegram message to " + chatId, e));
+        }
+    }
+
+    private void completed(Long chatId, List<Pending> batch, SendResponse response) {
+        if (response.isOk()) {
+            log.debug("Telegram sent {} messages to {}", batch.size(), chatId);
+            finish(chatId, batch, null);
+            return;
+        }
+        Integer retryAfter = response.parameters() != null ? response.parameters().retryAfter() : null;
+        if (response.errorCode() == TOO_MANY_REQUESTS && retryAfter != null) {
+            meterRegistry.counter("notification.telegram.throttled").increment();
+            if (requeue(chatId, batch, retryAfter)) {
+                return;
+            }
+        }
+        finish(chatId, batch, new TelegramSendException(
+                "Telegram rejected message to " + chatId + ": " + response.errorCode() + " " + response.description()));
+    }
+
+    private synchronized boolean requeue(Long chatId, List<Pending> batch, int retryAfterSeconds) {
+        ChatQueue chat = chats.get(chatId);
+        if (chat == null || batch.stream().anyMatch(message -> message.attempts >= maxRetries)) {
+            return false;
+        }
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            batch.get(i).attempts++;
+            chat.pending.addFirst(batch.get(i));
+        }
+        chat.blockedUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(retryAfterSeconds);
+        chat.inFlight = false;
+        log.warn("Telegram throttled chat {}, retrying {} messages in {} s", chatId, batch.size(), retryAfterSeconds);
+        return true;
+    }
+
+    private void finish(Long chatId, List<Pending> batch, TelegramSendException error) {
+        synchronized (this) {
+            ChatQueue chat = chats.get(chatId);
+            if (chat != null) {
+                chat.inFlight = false;
+            }
+        }
+        if (error != null) {
+            log.warn("{}", error.getMessage());
+        }
+        for (Pending message : batch) {
+            if (error == null) {
+                message.future.complete(null);
+            } else {
+                message.future.completeExceptionally(error);
+            }
+        }
+    }
+}
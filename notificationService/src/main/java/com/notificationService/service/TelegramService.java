@@ -2,15 +2,16 @@ package com.notificationService.service;
 
 
 import by.info_microservice.core.LinkTelegramRequest;
-import com.notificationService.exception.TelegramSendException;
 import com.pengrad.telegrambot.UpdatesListener;
 import com.pengrad.telegrambot.model.Update;
-import com.pengrad.telegrambot.request.SendMessage;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -18,6 +19,7 @@ public class TelegramService {
 
     private final com.pengrad.telegrambot.TelegramBot telegramBot;
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final TelegramOutboundQueue outboundQueue;
 
     @PostConstruct
     public void init() {
@@ -38,12 +40,12 @@ public class TelegramService {
             return UpdatesListener.CONFIRMED_UPDATES_ALL;
         });
     }
-    public void sendMessage(Long chatId, String text) {
-        try {
-            telegramBot.execute(new SendMessage(chatId, text));
-            log.debug("Telegram sent to {}: {}", chatId, text);
-        } catch (Exception e) {
-            throw new TelegramSendException("Failed to send Telegram message to " + chatId, e);
-        }
+    /**
+     * Queues the message on the rate-limited outbound queue; the future completes once Telegram accepted it
+     * and fails with {@link com.notificationService.exception.TelegramSendException} otherwise.
+     */
+    public CompletableFuture<Void> sendMessage(Long chatId, String text) {
+        log.debug("Telegram queued for {}: {}", chatId, text);
+        return outboundQueue.enqueue(chatId, text);
     }
 }
\ No newline at end of file
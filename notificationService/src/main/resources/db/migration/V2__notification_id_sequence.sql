@@ -0,0 +1,6 @@
+-- Notification ids come from the pooled generator notification_seq (allocationSize 50) so Hibernate can batch inserts.
+-- MySQL has no sequences; Hibernate emulates one with this single-row table.
+CREATE TABLE notification_seq (next_val BIGINT NOT NULL) ENGINE = InnoDB;
+
+-- The pooled optimizer hands out (next_val - 49 .. next_val) first, so start above every existing id.
+INSERT INTO notification_seq (next_val) SELECT COALESCE(MAX(id), 0) + 51 FROM notification;
@@ -0,0 +1,10 @@
+-- Failed sends are retried with exponential backoff: attempt_count is the number of failed attempts so far,
+-- next_attempt_at is when the retry poller may claim the row. DEAD marks notifications out of attempts.
+-- Rows that failed before this migration keep next_attempt_at NULL and are not retried.
+ALTER TABLE notification
+    MODIFY `status` ENUM('PENDING', 'SENT', 'FAILED', 'DEAD') NOT NULL,
+    ADD COLUMN `attempt_count` INT NOT NULL DEFAULT 0,
+    ADD COLUMN `next_attempt_at` DATETIME NULL;
+
+-- the poller reads status = 'FAILED' AND next_attempt_at <= now ORDER BY next_attempt_at
+CREATE INDEX idx_notification_retry ON notification (status, next_attempt_at);
@@ -9,6 +9,8 @@ import com.notificationService.model.Notification;
 import com.notificationService.model.Notification_status;
 import com.notificationService.repository.NotificationRepository;
 import com.notificationService.service.EmailService;
+import com.notificationService.service.NotificationDispatcher;
+import com.notificationService.service.NotificationRetryPolicy;
 import com.notificationService.service.NotificationService;
 import com.notificationService.service.TelegramService;
 import jakarta.persistence.PrePersist;
@@ -63,6 +65,10 @@ public class NotificationControllerIntegrationTest {
     private ObjectMapper objectMapper;
     @Autowired
     private NotificationRepository notificationRepository;
+    @Autowired
+    private NotificationDispatcher dispatcher;
+    @Autowired
+    private NotificationRetryPolicy retryPolicy;
     @MockBean
     private EmailService emailService;
     @MockBean
@@ -140,10 +146,11 @@ public class NotificationControllerIntegrationTest {
 }
 
     @Test
-    @DisplayName("Success - processNotificationAsync")
+    @DisplayName("Success - processNotification")
     void workerSetsSentOnSuccessEmail() throws Exception {
         doNothing().when(emailService).sendSimpleEmail(anyString(), anyString(), anyString());
-        NotificationService service = new NotificationService(notificationRepository, emailService, telegramService);
+        NotificationService service = new NotificationService(notificationRepository, emailService, telegramService, dispatcher,
+                retryPolicy);
 
         Notification pending = notificationRepository.save(Notification.builder()
                 .userId(1L)
@@ -154,7 +161,7 @@ public class NotificationControllerIntegrationTest {
                 .message("msg")
                         .createdAt(LocalDateTime.now())
                 .build());
-        service.processNotificationAsync(pending.getId(), NotificationServiceRequest.builder()
+        service.processNotification(pending.getId(), NotificationServiceRequest.builder()
                 .userId(1L)
                 .channel(Channel.EMAIL)
                 .recipient("test@test.com")
@@ -169,12 +176,13 @@ public class NotificationControllerIntegrationTest {
     }
 
     @Test
-    @DisplayName("Failed - processNotificationAsync")
+    @DisplayName("Failed - processNotification")
     void workerSetsFailedOnEmailException() throws Exception {
         doThrow(new RuntimeException("SMTP error"))
                 .when(emailService).sendSimpleEmail(anyString(), anyString(), anyString());
 
-        NotificationService service = new NotificationService(notificationRepository, emailService, telegramService);
+        NotificationService service = new NotificationService(notificationRepository, emailService, telegramService, dispatcher,
+                retryPolicy);
 
         Notification pending = notificationRepository.save(Notification.builder()
                 .userId(1L)
@@ -186,7 +194,7 @@ public class NotificationControllerIntegrationTest {
                 .createdAt(LocalDateTime.now())
                 .build());
 
-        service.processNotificationAsync(pending.getId(), NotificationServiceRequest.builder()
+        service.processNotification(pending.getId(), NotificationServiceRequest.builder()
                 .userId(1L)
                 .channel(Channel.EMAIL)
                 .recipient("test@test.com")
@@ -0,0 +1,145 @@
+package com.notificationService.service;
+
+import com.notificationService.exception.InvalidNotificationRequestException;
+import com.notificationService.model.Channel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationDispatcherTest {
+    @Mock
+    private KafkaListenerEndpointRegistry listenerRegistry;
+    @Mock
+    private MessageListenerContainer container;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new NotificationDispatcher(listenerRegistry, meterRegistry);
+        ReflectionTestUtils.setField(dispatcher, "emailThreads", 1);
+        ReflectionTestUtils.setField(dispatcher, "telegramThreads", 1);
+        ReflectionTestUtils.setField(dispatcher, "queueCapacity", 10);
+        dispatcher.start();
+        lenient().when(listenerRegistry.getListenerContainer(TaskEventConsumer.LISTENER_ID)).thenReturn(container);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.stop();
+    }
+
+    @Test
+    @DisplayName("Success - dispatch - runs the send off the calling thread and records its latency")
+    void dispatch_shouldRunOnChannelExecutor() throws Exception {
+        CountDownLatch sent = new CountDownLatch(1);
+        Thread caller = Thread.currentThread();
+        Thread[] sender = new Thread[1];
+
+        dispatcher.dispatch(Channel.TELEGRAM, () -> {
+            sender[0] = Thread.currentThread();
+            sent.countDown();
+        });
+
+        assertTrue(sent.await(5, TimeUnit.SECONDS));
+        assertNotSame(caller, sender[0]);
+        assertTrue(sender[0].getName().startsWith("dispatch-telegram-"));
+        dispatcher.stop();
+        assertEquals(1, meterRegistry.get("notification.dispatch.latency")
+                .tags("channel", "TELEGRAM", "outcome", "success").timer().count());
+    }
+
+    @Test
+    @DisplayName("Backpressure - dispatch - pauses the listeners when a queue fills and resumes once drained")
+    void dispatch_fullQueue_shouldPauseAndResume() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        dispatcher.dispatch(Channel.EMAIL, () -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 8; i++) {
+            dispatcher.dispatch(Channel.EMAIL, () -> { });
+        }
+
+        assertTrue(dispatcher.isPaused());
+        verify(container, times(1)).pause();
+        assertEquals(1.0, meterRegistry.get("notification.dispatch.pauses").tags("channel", "EMAIL").counter().count());
+
+        release.countDown();
+        dispatcher.stop();
+
+        assertFalse(dispatcher.isPaused());
+        assertEquals(0, dispatcher.queueDepth(Channel.EMAIL));
+        verify(container, times(1)).resume();
+    }
+
+    @Test
+    @DisplayName("Backpressure - dispatch - a full queue rejects the send instead of running it on the caller")
+    void dispatch_queueFull_shouldReject() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        dispatcher.dispatch(Channel.EMAIL, () -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 10; i++) {
+            assertTrue(dispatcher.dispatch(Channel.EMAIL, () -> { }));
+        }
+        boolean[] ranInline = new boolean[1];
+
+        assertFalse(dispatcher.dispatch(Channel.EMAIL, () -> ranInline[0] = true));
+
+        assertFalse(ranInline[0]);
+        assertEquals(1.0, meterRegistry.get("notification.dispatch.rejected").tags("channel", "EMAIL").counter().count());
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Failure - dispatch - a failing send is recorded and does not stop the executor")
+    void dispatch_failingSend_shouldRecordFailure() throws Exception {
+        CountDownLatch sent = new CountDownLatch(1);
+
+        dispatcher.dispatch(Channel.EMAIL, () -> {
+            throw new IllegalStateException("smtp down");
+        });
+        dispatcher.dispatch(Channel.EMAIL, sent::countDown);
+
+        assertTrue(sent.await(5, TimeUnit.SECONDS));
+        dispatcher.stop();
+        assertEquals(1, meterRegistry.get("notification.dispatch.latency")
+                .tags("channel", "EMAIL", "outcome", "failure").timer().count());
+    }
+
+    @Test
+    @DisplayName("Failure - dispatch - rejects a channel without an executor")
+    void dispatch_nullChannel_shouldThrow() {
+        assertThrows(InvalidNotificationRequestException.class, () -> dispatcher.dispatch(null, () -> { }));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
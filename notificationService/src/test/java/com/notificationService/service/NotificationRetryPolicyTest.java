@@ -0,0 +1,53 @@
+package com.notificationService.service;
+
+import com.notificationService.model.Notification;
+import com.notificationService.model.Notification_status;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NotificationRetryPolicyTest {
+    private final NotificationRetryPolicy policy = new NotificationRetryPolicy();
+
+    @RepeatedTest(20)
+    @DisplayName("Backoff - backoff - stays within the doubling cap and never exceeds max-delay")
+    void backoff_shouldStayWithinCap() {
+        assertTrue(policy.backoff(1).compareTo(Duration.ofSeconds(30)) <= 0);
+        assertTrue(policy.backoff(3).compareTo(Duration.ofMinutes(2)) <= 0);
+        assertTrue(policy.backoff(40).compareTo(Duration.ofHours(1)) <= 0);
+        assertFalse(policy.backoff(40).isNegative());
+    }
+
+    @Test
+    @DisplayName("Failure - recordFailure - schedules the next attempt after a backoff")
+    void recordFailure_shouldScheduleRetry() {
+        LocalDateTime now = LocalDateTime.now();
+        Notification notification = Notification.builder().id(1L).status(Notification_status.PENDING).build();
+
+        policy.recordFailure(notification, "Connection reset", now);
+
+        assertEquals(Notification_status.FAILED, notification.getStatus());
+        assertEquals(1, notification.getAttemptCount());
+        assertEquals("Connection reset", notification.getError_message());
+        assertFalse(notification.getNextAttemptAt().isBefore(now));
+        assertFalse(notification.getNextAttemptAt().isAfter(now.plusSeconds(30)));
+    }
+
+    @Test
+    @DisplayName("Failure - recordFailure - the last allowed attempt makes the notification DEAD")
+    void recordFailure_lastAttempt_shouldBeDead() {
+        Notification notification = Notification.builder().id(1L).status(Notification_status.FAILED)
+                .attemptCount(4).nextAttemptAt(LocalDateTime.now()).build();
+
+        policy.recordFailure(notification, "Connection reset", LocalDateTime.now());
+
+        assertEquals(Notification_status.DEAD, notification.getStatus());
+        assertEquals(5, notification.getAttemptCount());
+        assertNull(notification.getNextAttemptAt());
+    }
+}
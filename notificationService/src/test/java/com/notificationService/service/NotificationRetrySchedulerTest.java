@@ -0,0 +1,63 @@
+package com.notificationService.service;
+
+import com.notificationService.model.Channel;
+import com.notificationService.model.Notification;
+import com.notificationService.model.Notification_status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationRetrySchedulerTest {
+    @Mock
+    private NotificationService notificationService;
+    @InjectMocks
+    private NotificationRetryScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(scheduler, "enabled", true);
+        ReflectionTestUtils.setField(scheduler, "batchSize", 50);
+    }
+
+    private Notification failed(long id) {
+        return Notification.builder().id(id).userId(1L).channel(Channel.EMAIL).message("message")
+                .status(Notification_status.FAILED).attemptCount(1).build();
+    }
+
+    @Test
+    @DisplayName("Succeed - retryDue - claims one batch and redelivers every claimed notification")
+    void retryDue_shouldRetryClaimed() {
+        Notification first = failed(1L);
+        Notification second = failed(2L);
+        when(notificationService.claimDueRetries(any(), eq(50))).thenReturn(List.of(first, second));
+        doThrow(new IllegalStateException("queue full")).when(notificationService).retry(first);
+
+        scheduler.retryDue();
+
+        verify(notificationService, times(1)).claimDueRetries(any(), eq(50));
+        verify(notificationService).retry(first);
+        verify(notificationService).retry(second);
+    }
+
+    @Test
+    @DisplayName("Disabled - retryDue - nothing is claimed")
+    void retryDue_disabled_shouldSkip() {
+        ReflectionTestUtils.setField(scheduler, "enabled", false);
+
+        scheduler.retryDue();
+
+        verifyNoInteractions(notificationService);
+    }
+}
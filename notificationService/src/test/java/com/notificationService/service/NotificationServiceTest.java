@@ -3,6 +3,7 @@ package com.notificationService.service;
 import com.notificationService.dto.NotificationServiceRequest;
 import com.notificationService.dto.UserDto;
 import com.notificationService.exception.NotificationProcessingException;
+import com.notificationService.exception.TelegramSendException;
 import com.notificationService.model.Channel;
 import com.notificationService.model.Notification;
 import com.notificationService.model.Notification_status;
@@ -16,14 +17,20 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
 
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -37,6 +44,8 @@ public class NotificationServiceTest {
     private EmailService emailService;
     @Mock
     private TelegramService telegramService;
+    @Mock
+    private NotificationDispatcher dispatcher;
     @InjectMocks
     private NotificationService notificationService;
 
@@ -70,14 +79,21 @@ public class NotificationServiceTest {
                 .channel(Channel.EMAIL)
                 .status(Notification_status.PENDING)
                 .build();
-        notificationService = spy(new NotificationService(notificationRepository, emailService, telegramService));
+        notificationService = spy(new NotificationService(notificationRepository, emailService, telegramService, dispatcher,
+                new NotificationRetryPolicy()));
+        lenient().doAnswer(inv -> {
+            inv.<Runnable>getArgument(1).run();
+            return true;
+        }).when(dispatcher).dispatch(any(Channel.class), any(Runnable.class));
+        lenient().when(telegramService.sendMessage(anyLong(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(null));
     }
 @Test
-@DisplayName("Success - sendNotification saves PENDING and calls async processor")
+@DisplayName("Success - sendNotification saves PENDING and hands the send to the dispatcher")
 void successSendNotification() throws Exception {
     when(notificationRepository.saveAndFlush(any(Notification.class)))
             .thenReturn(pendingNotification);
-    doNothing().when(notificationService).processNotificationAsync(anyLong(), any(NotificationServiceRequest.class));
+    doReturn(true).when(dispatcher).dispatch(any(Channel.class), any(Runnable.class));
 
     notificationService.sendNotification(emailRequest);
 
@@ -86,15 +102,127 @@ void successSendNotification() throws Exception {
 
     Notification savedNotification = captor.getValue();
     assertEquals(Notification_status.PENDING, savedNotification.getStatus());
-    verify(notificationService, times(1))
-            .processNotificationAsync(eq(pendingNotification.getId()), eq(emailRequest));
+    assertTrue(savedNotification.getNextAttemptAt().isAfter(savedNotification.getCreatedAt()));
+    ArgumentCaptor<Runnable> send = ArgumentCaptor.forClass(Runnable.class);
+    verify(dispatcher, times(1)).dispatch(eq(Channel.EMAIL), send.capture());
     verify(emailService, never()).sendSimpleEmail(anyString(), anyString(), anyString());
+
+    doNothing().when(notificationService).processNotification(anyLong(), any(NotificationServiceRequest.class));
+    send.getValue().run();
+    verify(notificationService, times(1))
+            .processNotification(eq(pendingNotification.getId()), eq(emailRequest));
 }
     @Test
-    @DisplayName("Success - processNotificationAsync sends email and updates to SENT")
+    @DisplayName("Backpressure - sendNotification defers to the retry poller when the dispatch queue is full")
+    void sendNotificationDispatchRejected() {
+        when(notificationRepository.saveAndFlush(any(Notification.class))).thenReturn(pendingNotification);
+        doReturn(false).when(dispatcher).dispatch(any(Channel.class), any(Runnable.class));
+
+        notificationService.sendNotification(emailRequest);
+
+        verify(emailService, never()).sendSimpleEmail(anyString(), anyString(), anyString());
+        verify(notificationRepository).saveAll(List.of(pendingNotification));
+        assertEquals(Notification_status.FAILED, pendingNotification.getStatus());
+        assertEquals(0, pendingNotification.getAttemptCount());
+        assertNotNull(pendingNotification.getNextAttemptAt());
+    }
+    @Test
+    @DisplayName("Success - sendNotifications persists the batch with one saveAll and dispatches every notification")
+    void successSendNotificationsBatch() {
+        NotificationServiceRequest invalid = NotificationServiceRequest.builder().userId(3L).message("no channel").build();
+        when(notificationRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<Notification> notifications = inv.getArgument(0);
+            long id = 200;
+            for (Notification notification : notifications) {
+                notification.setId(id++);
+            }
+            return notifications;
+        });
+        when(emailService.sendSimpleEmails(anyList())).thenReturn(Map.of());
+
+        notificationService.sendNotifications(List.of(emailRequest, invalid, telegramRequest));
+
+        ArgumentCaptor<List<Notification>> batch = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository, times(2)).saveAll(batch.capture());
+        assertEquals(2, batch.getAllValues().get(0).size());
+        verify(notificationRepository, never()).saveAndFlush(any(Notification.class));
+        verify(notificationRepository, never()).findById(anyLong());
+        verify(emailService, times(1)).sendSimpleEmails(List.of(emailRequest));
+        verify(emailService, never()).sendSimpleEmail(anyString(), anyString(), anyString());
+        verify(telegramService, times(1)).sendMessage(telegramRequest.getRecipientTelegramId(), telegramRequest.getMessage());
+        ArgumentCaptor<Notification> saved = ArgumentCaptor.forClass(Notification.class);
+        verify(notificationRepository, times(1)).save(saved.capture());
+        assertEquals(Notification_status.SENT, saved.getValue().getStatus());
+        assertEquals(Notification_status.SENT, batch.getAllValues().get(1).get(0).getStatus());
+    }
+    @Test
+    @DisplayName("Success - sendNotifications sends emails in chunks of the configured batch size")
+    void successSendNotificationsEmailChunks() {
+        ReflectionTestUtils.setField(notificationService, "emailBatchSize", 2);
+        when(notificationRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        when(emailService.sendSimpleEmails(anyList())).thenReturn(Map.of());
+
+        notificationService.sendNotifications(List.of(emailRequest, emailRequest, emailRequest));
+
+        verify(dispatcher, times(2)).dispatch(eq(Channel.EMAIL), any(Runnable.class));
+        verify(emailService, times(1)).sendSimpleEmails(List.of(emailRequest, emailRequest));
+        verify(emailService, times(1)).sendSimpleEmails(List.of(emailRequest));
+    }
+    @Test
+    @DisplayName("Failure - sendNotifications - a failed send doesn't stop the rest of the batch")
+    void failureSendNotificationsBatchContinues() {
+        NotificationServiceRequest secondEmail = NotificationServiceRequest.builder()
+                .userId(3L)
+                .recipient("other@example.com")
+                .subject("subject3")
+                .message("message3")
+                .channel(Channel.EMAIL)
+                .build();
+        List<List<Notification>> saved = new ArrayList<>();
+        when(notificationRepository.saveAll(anyList())).thenAnswer(inv -> {
+            saved.add(List.copyOf(inv.<List<Notification>>getArgument(0)));
+            return inv.getArgument(0);
+        });
+        when(emailService.sendSimpleEmails(anyList()))
+                .thenReturn(Map.of(0, new RuntimeException("Mailbox unavailable")));
+
+        notificationService.sendNotifications(List.of(emailRequest, telegramRequest, secondEmail));
+
+        verify(telegramService, times(1)).sendMessage(anyLong(), anyString());
+        List<Notification> emails = saved.get(1);
+        assertEquals(Notification_status.FAILED, emails.get(0).getStatus());
+        assertEquals("Mailbox unavailable", emails.get(0).getError_message());
+        assertEquals(Notification_status.SENT, emails.get(1).getStatus());
+        ArgumentCaptor<Notification> telegram = ArgumentCaptor.forClass(Notification.class);
+        verify(notificationRepository, times(1)).save(telegram.capture());
+        assertEquals(Notification_status.SENT, telegram.getValue().getStatus());
+    }
+    @Test
+    @DisplayName("Failure - sendNotifications - a failed email batch records a retry for every message in it")
+    void failureSendNotificationsEmailBatchThrows() {
+        List<List<Notification>> saved = new ArrayList<>();
+        when(notificationRepository.saveAll(anyList())).thenAnswer(inv -> {
+            saved.add(List.copyOf(inv.<List<Notification>>getArgument(0)));
+            return inv.getArgument(0);
+        });
+        when(emailService.sendSimpleEmails(anyList())).thenThrow(new IllegalStateException("SMTP pool exhausted"));
+
+        notificationService.sendNotifications(List.of(emailRequest, emailRequest));
+
+        List<Notification> emails = saved.get(1);
+        assertEquals(2, emails.size());
+        for (Notification email : emails) {
+            assertEquals(Notification_status.FAILED, email.getStatus());
+            assertEquals("SMTP pool exhausted", email.getError_message());
+            assertEquals(1, email.getAttemptCount());
+            assertNotNull(email.getNextAttemptAt());
+        }
+    }
+    @Test
+    @DisplayName("Success - processNotification sends email and updates to SENT")
     void successProcessNotificationAsyncEmail() {
         when(notificationRepository.findById(anyLong())).thenReturn(Optional.of(pendingNotification));
-        notificationService.processNotificationAsync(pendingNotification.getId(), emailRequest);
+        notificationService.processNotification(pendingNotification.getId(), emailRequest);
         verify(emailService, times(1)).sendSimpleEmail(
                 eq(emailRequest.getRecipient()),
                 eq(emailRequest.getSubject()),
@@ -109,10 +237,10 @@ void successSendNotification() throws Exception {
     }
 
     @Test
-    @DisplayName("Success - processNotificationAsync sends telegram and updates to SENT")
+    @DisplayName("Success - processNotification sends telegram and updates to SENT")
     void successProcessNotificationAsyncTelegram() {
         when(notificationRepository.findById(anyLong())).thenReturn(Optional.of(pendingNotification));
-        notificationService.processNotificationAsync(pendingNotification.getId(), telegramRequest);
+        notificationService.processNotification(pendingNotification.getId(), telegramRequest);
         verify(telegramService, times(1)).sendMessage(
                 eq(telegramRequest.getRecipientTelegramId()),
                 eq(telegramRequest.getMessage())
@@ -125,14 +253,29 @@ void successSendNotification() throws Exception {
     }
 
     @Test
-    @DisplayName("Failure - processNotificationAsync handles email exception and updates to FAILED")
+    @DisplayName("Failure - processNotification saves FAILED when Telegram rejects the message")
+    void failureProcessNotificationTelegramRejected() {
+        when(notificationRepository.findById(anyLong())).thenReturn(Optional.of(pendingNotification));
+        when(telegramService.sendMessage(anyLong(), anyString())).thenReturn(CompletableFuture.failedFuture(
+                new TelegramSendException("Telegram rejected message to 1: 403 Forbidden")));
+
+        notificationService.processNotification(pendingNotification.getId(), telegramRequest);
+
+        ArgumentCaptor<Notification> captor = ArgumentCaptor.forClass(Notification.class);
+        verify(notificationRepository, times(1)).save(captor.capture());
+        assertEquals(Notification_status.FAILED, captor.getValue().getStatus());
+        assertEquals("Telegram rejected message to 1: 403 Forbidden", captor.getValue().getError_message());
+    }
+
+    @Test
+    @DisplayName("Failure - processNotification handles email exception and updates to FAILED")
     void failureProcessNotificationAsyncEmailException() {
         when(notificationRepository.findById(anyLong())).thenReturn(Optional.of(pendingNotification));
         String errorMessage = "SMTP server failed";
         doThrow(new RuntimeException(errorMessage))
                 .when(emailService).sendSimpleEmail(anyString(), anyString(), anyString());
 
-        notificationService.processNotificationAsync(pendingNotification.getId(), emailRequest);
+        notificationService.processNotification(pendingNotification.getId(), emailRequest);
 
         verify(emailService, times(1)).sendSimpleEmail(anyString(), anyString(), anyString());
 
@@ -142,14 +285,111 @@ void successSendNotification() throws Exception {
         Notification finalNotification = captor.getValue();
         assertEquals(Notification_status.FAILED, finalNotification.getStatus());
         assertTrue(finalNotification.getError_message().contains(errorMessage));
+        assertEquals(1, finalNotification.getAttemptCount());
+        assertNotNull(finalNotification.getNextAttemptAt());
+    }
+
+    @Test
+    @DisplayName("Failure - processNotification schedules a retry when delivery fails outside the send")
+    void failureProcessNotificationUnexpectedError() {
+        when(notificationRepository.findById(anyLong())).thenReturn(Optional.of(pendingNotification));
+        NotificationServiceRequest noChannel = NotificationServiceRequest.builder()
+                .userId(1L)
+                .recipient("recipient@example.com")
+                .subject("subject2")
+                .message("message2")
+                .build();
+
+        assertThrows(NotificationProcessingException.class,
+                () -> notificationService.processNotification(pendingNotification.getId(), noChannel));
+
+        ArgumentCaptor<Notification> captor = ArgumentCaptor.forClass(Notification.class);
+        verify(notificationRepository, times(1)).save(captor.capture());
+        assertEquals(Notification_status.FAILED, captor.getValue().getStatus());
+        assertEquals(1, captor.getValue().getAttemptCount());
+        assertNotNull(captor.getValue().getNextAttemptAt());
+    }
+
+    @Test
+    @DisplayName("Failure - processNotification marks the notification DEAD on its last attempt")
+    void failureProcessNotificationLastAttemptDead() {
+        pendingNotification.setStatus(Notification_status.FAILED);
+        pendingNotification.setAttemptCount(4);
+        pendingNotification.setNextAttemptAt(LocalDateTime.now());
+        when(notificationRepository.findById(anyLong())).thenReturn(Optional.of(pendingNotification));
+        doThrow(new RuntimeException("SMTP server failed"))
+                .when(emailService).sendSimpleEmail(anyString(), anyString(), anyString());
+
+        notificationService.processNotification(pendingNotification.getId(), emailRequest);
+
+        ArgumentCaptor<Notification> captor = ArgumentCaptor.forClass(Notification.class);
+        verify(notificationRepository, times(1)).save(captor.capture());
+        assertEquals(Notification_status.DEAD, captor.getValue().getStatus());
+        assertEquals(5, captor.getValue().getAttemptCount());
+        assertNull(captor.getValue().getNextAttemptAt());
+    }
+
+    @Test
+    @DisplayName("Success - claimDueRetries leases the due notifications and retry redelivers them")
+    void successClaimAndRetry() {
+        LocalDateTime now = LocalDateTime.now();
+        Notification failed = Notification.builder()
+                .id(300L)
+                .userId(1L)
+                .channel(Channel.EMAIL)
+                .recipient("recipient@example.com")
+                .subject("subject2")
+                .message("message2")
+                .status(Notification_status.FAILED)
+                .attemptCount(2)
+                .nextAttemptAt(now.minusSeconds(1))
+                .build();
+        when(notificationRepository.findDueRetries(eq(List.of(Notification_status.FAILED, Notification_status.PENDING)), eq(now), any()))
+                .thenReturn(List.of(failed));
+
+        List<Notification> claimed = notificationService.claimDueRetries(now, 10);
+
+        assertEquals(now.plusMinutes(5), claimed.get(0).getNextAttemptAt());
+
+        notificationService.retry(claimed.get(0));
+
+        verify(emailService, times(1)).sendSimpleEmail("recipient@example.com", "subject2", "message2");
+        assertEquals(Notification_status.SENT, failed.getStatus());
+        assertNull(failed.getNextAttemptAt());
+        verify(notificationRepository, times(1)).save(failed);
+    }
+
+    @Test
+    @DisplayName("Success - retry delivers a PENDING notification whose dispatch was lost")
+    void successRetryStalePending() {
+        LocalDateTime now = LocalDateTime.now();
+        Notification stale = Notification.builder()
+                .id(301L)
+                .userId(1L)
+                .channel(Channel.EMAIL)
+                .recipient("recipient@example.com")
+                .subject("subject2")
+                .message("message2")
+                .status(Notification_status.PENDING)
+                .createdAt(now.minusMinutes(10))
+                .nextAttemptAt(now.minusMinutes(5))
+                .build();
+        when(notificationRepository.findDueRetries(eq(List.of(Notification_status.FAILED, Notification_status.PENDING)), eq(now), any()))
+                .thenReturn(List.of(stale));
+
+        notificationService.claimDueRetries(now, 10).forEach(notificationService::retry);
+
+        verify(emailService, times(1)).sendSimpleEmail("recipient@example.com", "subject2", "message2");
+        assertEquals(Notification_status.SENT, stale.getStatus());
+        assertEquals(0, stale.getAttemptCount());
     }
 
     @Test
-    @DisplayName("Failure - processNotificationAsync throws if notification not found")
+    @DisplayName("Failure - processNotification throws if notification not found")
     void failureProcessNotificationAsyncNotFound() {
         when(notificationRepository.findById(anyLong())).thenReturn(Optional.empty());
         assertThrows(RuntimeException.class,
-                () -> notificationService.processNotificationAsync(999L, emailRequest));
+                () -> notificationService.processNotification(999L, emailRequest));
         verify(notificationRepository, never()).save(any(Notification.class));
         verify(emailService, never()).sendSimpleEmail(anyString(), anyString(), anyString());
     }
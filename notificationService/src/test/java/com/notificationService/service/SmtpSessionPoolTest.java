@@ -0,0 +1,120 @@
+package com.notificationService.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.Message;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.mail.MailSendException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SmtpSessionPoolTest {
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private SmtpSessionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        MailProperties mailProperties = new MailProperties();
+        mailProperties.setHost("127.0.0.1");
+        mailProperties.setPort(ServerSetupTest.SMTP.getPort());
+        pool = new SmtpSessionPool(mailProperties);
+        ReflectionTestUtils.setField(pool, "maxConnections", 2);
+        ReflectionTestUtils.setField(pool, "maxMessagesPerConnection", 3);
+        pool.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.stop();
+    }
+
+    private MimeMessage message(String to, String subject) throws Exception {
+        MimeMessage message = pool.createMimeMessage();
+        message.setFrom(new InternetAddress("no-reply@example.com"));
+        message.setRecipient(Message.RecipientType.TO, new InternetAddress(to));
+        message.setSubject(subject);
+        message.setText("body of " + subject);
+        return message;
+    }
+
+    private List<MimeMessage> messages(int count) throws Exception {
+        List<MimeMessage> messages = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            messages.add(message("user" + i + "@example.com", "subject " + i));
+        }
+        return messages;
+    }
+
+    @Test
+    @DisplayName("Success - send - a batch goes out over one connection that is kept for the next send")
+    void send_batch_shouldReuseConnection() throws Exception {
+        pool.send(messages(3).subList(0, 2));
+        pool.send(message("late@example.com", "late"));
+
+        assertTrue(greenMail.waitForIncomingEmail(5000, 3));
+        assertEquals(1, pool.openedConnections());
+        assertEquals("body of subject 0", GreenMailUtil.getBody(greenMail.getReceivedMessages()[0]).trim());
+    }
+
+    @Test
+    @DisplayName("Success - send - a connection is replaced after max-messages-per-connection")
+    void send_largeBatch_shouldRotateConnections() throws Exception {
+        pool.send(messages(7));
+
+        assertTrue(greenMail.waitForIncomingEmail(5000, 7));
+        assertEquals(3, pool.openedConnections());
+        assertEquals(1, pool.idleConnections());
+    }
+
+    @Test
+    @DisplayName("Reconnect - send - a pooled connection the server dropped is replaced")
+    void send_afterServerRestart_shouldReconnect() throws Exception {
+        pool.send(message("first@example.com", "first"));
+        assertEquals(1, pool.idleConnections());
+
+        greenMail.reset();
+        pool.send(message("second@example.com", "second"));
+
+        assertTrue(greenMail.waitForIncomingEmail(5000, 1));
+        assertEquals("second", greenMail.getReceivedMessages()[0].getSubject());
+        assertEquals(2, pool.openedConnections());
+    }
+
+    @Test
+    @DisplayName("Failure - send - every message is reported when no connection can be opened")
+    void send_serverDown_shouldReportFailedMessages() throws Exception {
+        List<MimeMessage> batch = messages(2);
+        greenMail.stop();
+
+        MailSendException exception = assertThrows(MailSendException.class, () -> pool.send(batch));
+
+        assertEquals(2, exception.getFailedMessages().size());
+        assertTrue(exception.getFailedMessages().containsKey(batch.get(0)));
+    }
+
+    @Test
+    @DisplayName("Eviction - evictIdle - closes connections idle longer than max-idle-ms")
+    void evictIdle_shouldCloseIdleConnections() throws Exception {
+        pool.send(message("idle@example.com", "idle"));
+        assertEquals(1, pool.idleConnections());
+
+        ReflectionTestUtils.setField(pool, "maxIdleMs", 0L);
+        pool.evictIdle();
+
+        assertEquals(0, pool.idleConnections());
+    }
+}
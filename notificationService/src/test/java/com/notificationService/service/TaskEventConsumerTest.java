@@ -13,11 +13,17 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 @ExtendWith(MockitoExtension.class)
 @ActiveProfiles("test")
 public class TaskEventConsumerTest {
@@ -84,4 +90,77 @@ public class TaskEventConsumerTest {
         assertEquals(Channel.TELEGRAM, req.getChannel());
     }
 
+    @Test
+    @DisplayName("TASK_OVERDUE - multi-channel event - exactly one notification per channel")
+    void consume_multiChannelEvent_sendsOncePerChannel() {
+        event.setEventType("TASK_OVERDUE");
+        event.setChannels(Set.of("TELEGRAM", "EMAIL"));
+        consumer.consume(event);
+        ArgumentCaptor<NotificationServiceRequest> captor = ArgumentCaptor.forClass(NotificationServiceRequest.class);
+        verify(notificationService, times(2)).sendNotification(captor.capture());
+        assertEquals(Channel.EMAIL, captor.getAllValues().get(0).getChannel());
+        assertEquals(event.getRecipient(), captor.getAllValues().get(0).getRecipient());
+        assertNull(captor.getAllValues().get(0).getRecipientTelegramId());
+        assertEquals(Channel.TELEGRAM, captor.getAllValues().get(1).getChannel());
+        assertEquals(event.getRecipientTelegramId(), captor.getAllValues().get(1).getRecipientTelegramId());
+        assertNull(captor.getAllValues().get(1).getRecipient());
+    }
+    @Test
+    @DisplayName("TASK_SOON_OVERDUE - only listed channels are sent even if more recipients are present")
+    void consume_channelSubset_sendsOnlyListedChannels() {
+        event.setEventType("TASK_SOON_OVERDUE");
+        event.setChannels(Set.of("TELEGRAM"));
+        consumer.consume(event);
+        ArgumentCaptor<NotificationServiceRequest> captor = ArgumentCaptor.forClass(NotificationServiceRequest.class);
+        verify(notificationService, times(1)).sendNotification(captor.capture());
+        assertEquals(Channel.TELEGRAM, captor.getValue().getChannel());
+    }
+    @Test
+    @DisplayName("TASK_OVERDUE - null and unknown channels are skipped, the known ones still sent")
+    void consume_invalidChannels_skipped() {
+        event.setEventType("TASK_OVERDUE");
+        event.setChannels(new HashSet<>(Arrays.asList(null, "SMS", "EMAIL")));
+        consumer.consume(event);
+        ArgumentCaptor<NotificationServiceRequest> captor = ArgumentCaptor.forClass(NotificationServiceRequest.class);
+        verify(notificationService, times(1)).sendNotification(captor.capture());
+        assertEquals(Channel.EMAIL, captor.getValue().getChannel());
+    }
+    @Test
+    @DisplayName("Batch - a poll's events are handed over as one list of notifications")
+    void consumeBatch_sendsAllNotificationsTogether() {
+        event.setEventType("TASK_OVERDUE");
+        TaskEventDto soon = TaskEventDto.builder()
+                .userId(200L)
+                .title("Other Task")
+                .eventType("TASK_SOON_OVERDUE")
+                .recipientTelegramId(654321L)
+                .build();
+        TaskEventDto unknown = TaskEventDto.builder().userId(300L).eventType("TASK_REMINDER").build();
+
+        consumer.consumeBatch(List.of(event, soon, unknown));
+
+        ArgumentCaptor<List<NotificationServiceRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationService, times(1)).sendNotifications(captor.capture());
+        verify(notificationService, never()).sendNotification(any());
+        List<NotificationServiceRequest> requests = captor.getValue();
+        assertEquals(3, requests.size());
+        assertEquals(Channel.EMAIL, requests.get(0).getChannel());
+        assertEquals(Channel.TELEGRAM, requests.get(1).getChannel());
+        assertEquals(200L, requests.get(2).getUserId());
+        assertEquals("The task will soon be overdue!", requests.get(2).getSubject());
+    }
+    @Test
+    @DisplayName("Batch - nothing to send - the service is not called")
+    void consumeBatch_noNotifications_sendsNothing() {
+        event.setEventType("TASK_REMINDER");
+        consumer.consumeBatch(List.of(event));
+        verifyNoInteractions(notificationService);
+    }
+    @Test
+    @DisplayName("Unknown event type - nothing is sent")
+    void consume_unknownEventType_sendsNothing() {
+        event.setEventType("TASK_REMINDER");
+        consumer.consume(event);
+        verifyNoInteractions(notificationService);
+    }
 }
@@ -0,0 +1,153 @@
+package com.notificationService.service;
+
+import com.notificationService.exception.TelegramSendException;
+import com.pengrad.telegrambot.Callback;
+import com.pengrad.telegrambot.TelegramBot;
+import com.pengrad.telegrambot.model.ResponseParameters;
+import com.pengrad.telegrambot.request.SendMessage;
+import com.pengrad.telegrambot.response.SendResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TelegramOutboundQueueTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Mock
+    private TelegramBot telegramBot;
+    private TelegramOutboundQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new TelegramOutboundQueue(telegramBot, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(queue, "globalPerSecond", 2.0);
+        // the ticker must not drain on its own, the tests drive drain() with their own clock
+        ReflectionTestUtils.setField(queue, "tickMs", TimeUnit.HOURS.toMillis(1));
+        queue.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        queue.stop();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Callback<SendMessage, SendResponse> sent(int times, String text) {
+        ArgumentCaptor<SendMessage> request = ArgumentCaptor.forClass(SendMessage.class);
+        ArgumentCaptor<Callback<SendMessage, SendResponse>> callback = ArgumentCaptor.forClass(Callback.class);
+        verify(telegramBot, times(times)).execute(request.capture(), callback.capture());
+        assertEquals(text, request.getValue().getParameters().get("text"));
+        return callback.getValue();
+    }
+
+    private SendResponse ok() {
+        SendResponse response = mock(SendResponse.class);
+        when(response.isOk()).thenReturn(true);
+        return response;
+    }
+
+    private SendResponse tooManyRequests(int retryAfter) {
+        SendResponse response = mock(SendResponse.class);
+        ResponseParameters parameters = mock(ResponseParameters.class);
+        when(parameters.retryAfter()).thenReturn(retryAfter);
+        when(response.isOk()).thenReturn(false);
+        when(response.errorCode()).thenReturn(429);
+        when(response.parameters()).thenReturn(parameters);
+        return response;
+    }
+
+    @Test
+    @DisplayName("Success - drain - pending messages to one chat go out as one message")
+    void drain_shouldCoalescePerChat() {
+        CompletableFuture<Void> first = queue.enqueue(1L, "Task A is overdue");
+        CompletableFuture<Void> second = queue.enqueue(1L, "Task B is overdue");
+
+        queue.drain(System.nanoTime());
+        sent(1, "Task A is overdue\n\nTask B is overdue").onResponse(null, ok());
+
+        assertTrue(first.isDone() && !first.isCompletedExceptionally());
+        assertTrue(second.isDone() && !second.isCompletedExceptionally());
+        assertEquals(0, queue.pendingMessages(1L));
+    }
+
+    @Test
+    @DisplayName("Rate limit - drain - a chat gets at most one message per second")
+    void drain_shouldPacePerChat() {
+        queue.enqueue(1L, "first");
+        long now = System.nanoTime();
+        queue.drain(now);
+        sent(1, "first").onResponse(null, ok());
+
+        queue.enqueue(1L, "second");
+        queue.drain(now + SECOND / 2);
+        verify(telegramBot, times(1)).execute(any(SendMessage.class), any(Callback.class));
+
+        queue.drain(now + SECOND + SECOND / 10);
+        sent(2, "second");
+    }
+
+    @Test
+    @DisplayName("Rate limit - drain - chats beyond the global budget wait for the next refill")
+    void drain_shouldRespectGlobalBucket() {
+        queue.enqueue(1L, "one");
+        queue.enqueue(2L, "two");
+        queue.enqueue(3L, "three");
+
+        long now = System.nanoTime();
+        queue.drain(now);
+        verify(telegramBot, times(2)).execute(any(SendMessage.class), any(Callback.class));
+        assertEquals(1, queue.pendingMessages(3L));
+
+        queue.drain(now + SECOND);
+        sent(3, "three");
+    }
+
+    @Test
+    @DisplayName("Throttled - drain - a 429 is retried once retry_after has passed")
+    void drain_tooManyRequests_shouldHonourRetryAfter() {
+        CompletableFuture<Void> future = queue.enqueue(1L, "Task A is overdue");
+        queue.drain(System.nanoTime());
+        sent(1, "Task A is overdue").onResponse(null, tooManyRequests(3));
+
+        assertFalse(future.isDone());
+        long throttledAt = System.nanoTime();
+        queue.drain(throttledAt + 2 * SECOND);
+        verify(telegramBot, times(1)).execute(any(SendMessage.class), any(Callback.class));
+
+        queue.drain(throttledAt + 4 * SECOND);
+        sent(2, "Task A is overdue").onResponse(null, ok());
+        assertTrue(future.isDone() && !future.isCompletedExceptionally());
+    }
+
+    @Test
+    @DisplayName("Failure - drain - a rejected message fails its future")
+    void drain_rejected_shouldFail() {
+        CompletableFuture<Void> future = queue.enqueue(1L, "Task A is overdue");
+        SendResponse forbidden = mock(SendResponse.class);
+        when(forbidden.isOk()).thenReturn(false);
+        when(forbidden.errorCode()).thenReturn(403);
+        when(forbidden.description()).thenReturn("Forbidden: bot was blocked by the user");
+
+        queue.drain(System.nanoTime());
+        sent(1, "Task A is overdue").onResponse(null, forbidden);
+
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(TelegramSendException.class, exception.getCause());
+    }
+}
@@ -24,6 +24,27 @@ public class TaskKafkaConfig {
     @Autowired
     Environment environment;
 
+    @Bean
+    ConsumerFactory<String, Object> consumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, environment.getProperty("spring.kafka.consumer.bootstrap-servers"));
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+        props.put(JsonDeserializer.TRUSTED_PACKAGES, environment.getProperty("spring.kafka.consumer.properties.spring.json.trusted.packages", "*"));
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, environment.getProperty("spring.kafka.consumer.auto-offset-reset", "earliest"));
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, environment.getProperty("spring.kafka.consumer.group-id"));
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory(
+            ConsumerFactory<String, Object> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setAutoStartup(environment.getProperty("spring.kafka.listener.auto-startup", Boolean.class, true));
+        return factory;
+    }
+
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
         Map<String, Object> props = new HashMap<>();
@@ -34,11 +55,28 @@ public class TaskKafkaConfig {
         props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
         props.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION,environment.getProperty("spring.kafka.producer.properties.max.in.flight.requests.per.connection"));
         props.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, environment.getProperty("spring.kafka.producer.properties.delivery.timeout.ms"));
-        props.put(ProducerConfig.LINGER_MS_CONFIG, environment.getProperty("spring.kafka.producer.properties.linger.ms"));
         props.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, environment.getProperty("spring.kafka.producer.properties.request.timeout.ms"));
+        props.putAll(producerProfile());
         return new DefaultKafkaProducerFactory<>(props);
     }
 
+    // "latency" sends every record immediately; "throughput" lets the producer linger and compress
+    // so the scheduler and the outbox relay can push large bursts in few requests.
+    private Map<String, Object> producerProfile() {
+        String profile = environment.getProperty("task.kafka.producer.profile", "latency");
+        if (!profile.equals("latency") && !profile.equals("throughput")) {
+            throw new IllegalArgumentException("Unknown task.kafka.producer.profile: " + profile);
+        }
+        String prefix = "task.kafka.producer." + profile + ".";
+        boolean latency = profile.equals("latency");
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.LINGER_MS_CONFIG, environment.getProperty(prefix + "linger-ms", latency ? "0" : "20"));
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, environment.getProperty(prefix + "batch-size", latency ? "16384" : "131072"));
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, environment.getProperty(prefix + "compression-type", latency ? "none" : "lz4"));
+        props.put(ProducerConfig.BUFFER_MEMORY_CONFIG, environment.getProperty(prefix + "buffer-memory", latency ? "33554432" : "67108864"));
+        return props;
+    }
+
     @Bean
     KafkaTemplate<String, Object> kafkaTemplate(ProducerFactory<String, Object> producerFactory){
         return new KafkaTemplate<>(producerFactory);
@@ -0,0 +1,31 @@
+package com.taskService.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskService.dto.TaskResponseDto;
+import com.taskService.service.TaskListCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Page;
+
+import java.time.Duration;
+
+@Configuration
+public class TaskListCacheConfig {
+
+    @Bean
+    public Cache<TaskListCache.Key, Page<TaskResponseDto>> taskListPages(
+            @Value("${task.list-cache.maximum-size:20000}") long maximumSize,
+            @Value("${task.list-cache.expire-after-write-seconds:60}") long expireAfterWriteSeconds,
+            MeterRegistry meterRegistry) {
+        Cache<TaskListCache.Key, Page<TaskResponseDto>> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "task-lists");
+    }
+}
@@ -0,0 +1,28 @@
+package com.taskService.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskService.dto.UserDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class UserCacheConfig {
+
+    @Bean
+    public Cache<Long, UserDto> userCache(@Value("${user.cache.maximum-size:10000}") long maximumSize,
+                                          @Value("${user.cache.expire-after-write-minutes:30}") long expireAfterWriteMinutes,
+                                          MeterRegistry meterRegistry) {
+        Cache<Long, UserDto> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMinutes(expireAfterWriteMinutes))
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+}
@@ -1,5 +1,6 @@
 package com.taskService.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import com.google.common.net.HttpHeaders;
 import com.taskService.dto.UserDto;
 import lombok.RequiredArgsConstructor;
@@ -7,22 +8,69 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class UserServiceClient {
 
     private final WebClient.Builder webClientBuilder;
+    private final Cache<Long, UserDto> userCache;
 
     public UserDto getUserById(Long userId) {
+        UserDto cached = userCache.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
         log.info("getUserById {}, {}", userId, webClientBuilder);
-        return webClientBuilder
+        UserDto user = webClientBuilder
                 .build()
                 .get()
                 .uri("http://user-service/api/auth/internal/{id}", userId)
                 .retrieve()
                 .bodyToMono(UserDto.class)
                 .block();
+        if (user != null) {
+            userCache.put(userId, user);
+        }
+        return user;
+    }
+    public Map<Long, UserDto> getUsersByIds(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, UserDto> result = new HashMap<>(userCache.getAllPresent(userIds));
+        List<Long> missing = userIds.stream()
+                .filter(id -> !result.containsKey(id))
+                .distinct()
+                .toList();
+        if (missing.isEmpty()) {
+            return result;
+        }
+        log.info("getUsersByIds: {} ids, {} cached", userIds.size(), result.size());
+        List<UserDto> users = webClientBuilder
+                .build()
+                .post()
+                .uri("http://user-service/api/auth/internal/batch")
+                .bodyValue(missing)
+                .retrieve()
+                .bodyToFlux(UserDto.class)
+                .collectList()
+                .block();
+        if (users != null) {
+            users.forEach(user -> {
+                userCache.put(user.getId(), user);
+                result.put(user.getId(), user);
+            });
+        }
+        return result;
+    }
 
+    public void evict(Long userId) {
+        userCache.invalidate(userId);
     }
 }
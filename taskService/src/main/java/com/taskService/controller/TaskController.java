@@ -1,11 +1,13 @@
 package com.taskService.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.taskService.dto.*;
 import com.taskService.exception.ResourceNotFoundException;
 import com.taskService.model.Priority;
 import com.taskService.model.Status;
 import com.taskService.model.Task;
 import com.taskService.service.TaskService;
+import com.taskService.service.TaskSortResolver;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -21,12 +23,17 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.security.Principal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 @RestController
 @RequestMapping("/api/tasks")
@@ -35,46 +42,53 @@ import io.swagger.v3.oas.annotations.media.ArraySchema;
 @SecurityRequirement(name = "BearerAuth")
 public class TaskController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final TaskService taskService;
+    private final TaskSortResolver taskSortResolver;
+    private final ObjectMapper objectMapper;
     @Operation(summary = "Get all task",
-            description = "Getting all user tasks using pagination",
+            description = "Getting all user tasks using pagination. mode=page returns an offset page with a total count, " +
+                    "mode=cursor a keyset page over the sort properties plus id, continued with the returned nextCursor; " +
+                    "its count is only run with withCount=true.",
             tags = {"Task management"})
     @ApiResponse(responseCode = "200", description = "Tasks successfully found and returned",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class)))
     @GetMapping
-    public ResponseEntity<Page<TaskResponseDto>> getAllTasks(
+    public ResponseEntity<?> getAllTasks(
             Principal principal,
             @Parameter(description = "Page number (0-indexed)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Number of items per page", example = "10")
             @RequestParam(defaultValue = "10") int size,
-            @Parameter(description = "Sorting criteria in the format: property,(asc|desc). Default is dueDate,asc.", example = "dueDate,asc")
-            @RequestParam(value = "sort", required = false) List<String> sortParams) {
+            @Parameter(description = "Sorting criteria in the format: property,(asc|desc) with property one of dueDate, date, " +
+                    "title, priority (not with mode=cursor) or id. Ties are broken by id. Default is dueDate,asc.", example = "dueDate,asc")
+            @RequestParam(value = "sort", required = false) List<String> sortParams,
+            @Parameter(description = "Result mode: page or cursor", example = "cursor")
+            @RequestParam(defaultValue = "page") String mode,
+            @Parameter(description = "nextCursor of the previous page, mode=cursor only", example = "eyJ2IjoidjIifQ")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Also count all tasks, mode=cursor only", example = "false")
+            @RequestParam(defaultValue = "false") boolean withCount,
+            @Parameter(description = "Include task descriptions, mode=page only", example = "true")
+            @RequestParam(defaultValue = "true") boolean includeDescription) {
 
         Long userId = Long.parseLong(principal.getName());
 
-        if (sortParams == null || sortParams.isEmpty()) {
-            sortParams = List.of("dueDate,asc");
+        switch (mode.toLowerCase()) {
+            case "page" -> {
+                checkPageSize(size);
+                Pageable pageable = PageRequest.of(page, size, taskSortResolver.resolve(sortParams, "all", false));
+                Page<TaskResponseDto> tasks = taskService.getAllTasks(userId, pageable, includeDescription);
+                return ResponseEntity.ok(tasks);
+            }
+            case "cursor" -> {
+                checkPageSize(size);
+                return ResponseEntity.ok(taskService.getAllTasksAfter(userId,
+                        taskSortResolver.resolve(sortParams, "all", true), cursor, size, withCount));
+            }
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
         }
-        if (sortParams.size() == 2
-                && !sortParams.get(0).contains(",")
-                && (sortParams.get(1).equalsIgnoreCase("asc") || sortParams.get(1).equalsIgnoreCase("desc"))) {
-            sortParams = List.of(sortParams.get(0) + "," + sortParams.get(1));
-        }
-
-        List<Sort.Order> orders = sortParams.stream()
-                .map(s -> {
-                    String[] parts = s.split(",");
-                    String property = parts[0].trim();
-                    Sort.Direction direction = (parts.length > 1 && parts[1].trim().equalsIgnoreCase("desc"))
-                            ? Sort.Direction.DESC : Sort.Direction.ASC;
-                    return new Sort.Order(direction, property);
-                })
-                .collect(Collectors.toList());
-
-        Pageable pageable = PageRequest.of(page, size, Sort.by(orders));
-        Page<TaskResponseDto> tasks = taskService.getAllTasks(userId, pageable);
-        return ResponseEntity.ok(tasks);
     }
     @Operation(summary = "Search tasks",
             description = "Search by words all user tasks using pagination",
@@ -116,13 +130,39 @@ public class TaskController {
         return ResponseEntity.ok(task);
 
     }
+    @Operation(summary = "Get occurrences of a repeating task",
+            description = "Lists the occurrences of the series within a time window. Occurrences the user has not changed are computed from the recurrence rule and have no task ID.",
+            tags = {"Task management"})
+    @ApiResponse(responseCode = "200", description = "Occurrences successfully computed and returned",
+            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = TaskOccurrenceDto.class))))
+    @ApiResponse(responseCode = "400", description = "Task is not repeating, or the window is invalid or too large.",
+            content = @Content(schema = @Schema(hidden = true)))
+    @ApiResponse(responseCode = "404", description = "Task not found with id.",
+            content = @Content(schema = @Schema(hidden = true)))
+    @ApiResponse(responseCode = "403", description = "You don't have permission to view this task(Task does not belong to user)",
+            content = @Content(schema = @Schema(hidden = true)))
+    @GetMapping("/{id}/occurrences")
+    public ResponseEntity<List<TaskOccurrenceDto>> getOccurrences(
+            @Parameter(description = "ID of any task within the series", example = "50")
+            @PathVariable Long id,
+            @Parameter(description = "Start of the window (inclusive)", example = "2025-10-01T00:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "End of the window (inclusive)", example = "2025-10-31T23:59:59")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            Principal principal) {
+        Long userId = Long.parseLong(principal.getName());
+        return ResponseEntity.ok(taskService.getOccurrences(id, userId, from, to));
+    }
     @Operation(summary = "Get task by filter",
-            description = "Retrieves task details by filter(status, priority, date).",
+            description = "Retrieves task details by filter(status, priority, date). mode=list returns every match as an array, " +
+                    "mode=page returns an offset page and mode=cursor a keyset page continued with the returned nextCursor.",
             tags = {"Task management"})
     @ApiResponse(responseCode = "200", description = "Tasks successfully found and returned",
             content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = TaskResponseDto.class))))
+    @ApiResponse(responseCode = "400", description = "Unknown mode, invalid cursor or page size out of range",
+            content = @Content(schema = @Schema(hidden = true)))
     @GetMapping("/filter")
-    public ResponseEntity<List<TaskResponseDto>> filterTask(
+    public ResponseEntity<?> filterTask(
             @Parameter(description = "Filter by task status(ARCHIVED, NOT_COMPLETED, COMPLETED, OVERDUE)", example = "NOT_COMPLETED")
             @RequestParam(required = false) Status status,
             @Parameter(description = "Filter by task priority (HIGH, MEDIUM, LOW)", example = "HIGH")
@@ -131,10 +171,68 @@ public class TaskController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
             @Parameter(description = "End date for due date range filter", example = "2025-12-31")
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @Parameter(description = "Result mode: list, page or cursor", example = "cursor")
+            @RequestParam(defaultValue = "list") String mode,
+            @Parameter(description = "Page number (0-indexed), mode=page only", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of items per page, mode=page and mode=cursor", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "nextCursor of the previous page, mode=cursor only", example = "djF8NDI")
+            @RequestParam(required = false) String cursor,
             Principal principal){
         Long userId = Long.parseLong(principal.getName());
-        List<TaskResponseDto> tasks = taskService.filterTasks(userId,status,fromDate,toDate,priority);
-        return ResponseEntity.ok(tasks);
+        switch (mode.toLowerCase()) {
+            case "list" -> {
+                List<TaskResponseDto> tasks = taskService.filterTasks(userId,status,fromDate,toDate,priority);
+                return ResponseEntity.ok(tasks);
+            }
+            case "page" -> {
+                checkPageSize(size);
+                return ResponseEntity.ok(taskService.filterTasksPage(userId, status, fromDate, toDate, priority, page, size));
+            }
+            case "cursor" -> {
+                checkPageSize(size);
+                return ResponseEntity.ok(taskService.filterTasksAfter(userId, status, fromDate, toDate, priority, cursor, size));
+            }
+            default -> throw new IllegalArgumentException("Unknown filter mode: " + mode);
+        }
+    }
+    @Operation(summary = "Export tasks by filter",
+            description = "Streams every task matching the filter as newline-delimited JSON, one TaskResponseDto per line.",
+            tags = {"Task management"})
+    @ApiResponse(responseCode = "200", description = "Tasks streamed",
+            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = TaskResponseDto.class)))
+    @GetMapping(value = "/filter/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportFilteredTasks(
+            @Parameter(description = "Filter by task status(ARCHIVED, NOT_COMPLETED, COMPLETED, OVERDUE)", example = "NOT_COMPLETED")
+            @RequestParam(required = false) Status status,
+            @Parameter(description = "Filter by task priority (HIGH, MEDIUM, LOW)", example = "HIGH")
+            @RequestParam(required = false) Priority priority,
+            @Parameter(description = "Start date for due date range filter", example = "2025-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @Parameter(description = "End date for due date range filter", example = "2025-12-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            Principal principal) {
+        Long userId = Long.parseLong(principal.getName());
+        StreamingResponseBody body = out -> {
+            taskService.exportFilteredTasks(userId, status, fromDate, toDate, priority, task -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(task));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+    private void checkPageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
     }
     @Operation(summary = "Create a new task",
             description = "Creates a new task associated with the authenticated user",
@@ -153,6 +251,23 @@ public class TaskController {
         TaskResponseDto createdTask = taskService.createTask(requestDto, userId);
         return new ResponseEntity<>(createdTask, HttpStatus.CREATED);
     }
+    @Operation(summary = "Create many tasks",
+            description = "Creates up to 5000 tasks for the authenticated user in one transaction; either all are created or none.",
+            tags = {"Task management"},
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Tasks to be created",
+                    required = true,
+                    content = @Content(schema = @Schema(implementation = BulkTaskRequestDto.class))))
+    @ApiResponse(responseCode = "201", description = "Tasks successfully created and returned in request order",
+            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = TaskResponseDto.class))))
+    @ApiResponse(responseCode = "400", description = "Invalid input or validation error.",
+            content = @Content(schema = @Schema(hidden = true)))
+    @PostMapping("/bulk")
+    public ResponseEntity<List<TaskResponseDto>> createTasks(@Valid @RequestBody BulkTaskRequestDto requestDto, Principal principal) {
+        Long userId = Long.parseLong(principal.getName());
+        List<TaskResponseDto> createdTasks = taskService.createTasksBulk(requestDto.getTasks(), userId);
+        return new ResponseEntity<>(createdTasks, HttpStatus.CREATED);
+    }
     @Operation(summary = "Update task details",
             description = "Updates one or more fields of an existing task (partial update is supported). Ensures the task belongs to the user.",
             tags = {"Task management"},
@@ -197,6 +312,27 @@ public class TaskController {
         TaskResponseDto taskResponseDto = taskService.updateStatus(id, dto, userId);
         return ResponseEntity.ok(taskResponseDto);
     }
+    @Operation(summary = "Update the status of many tasks",
+            description = "Sets the same status on up to 5000 tasks of the authenticated user in one transaction.",
+            tags = {"Task management"},
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Task IDs and their new status",
+                    required = true,
+                    content = @Content(schema = @Schema(implementation = BulkStatusUpdateRequestDto.class))))
+    @ApiResponse(responseCode = "200", description = "Statuses successfully updated and tasks returned.",
+            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = TaskResponseDto.class))))
+    @ApiResponse(responseCode = "400", description = "Invalid input or validation error.",
+            content = @Content(schema = @Schema(hidden = true)))
+    @ApiResponse(responseCode = "404", description = "Some of the tasks were not found.",
+            content = @Content(schema = @Schema(hidden = true)))
+    @ApiResponse(responseCode = "403", description = "Forbidden: Some of the tasks do not belong to the user.",
+            content = @Content(schema = @Schema(hidden = true)))
+    @PatchMapping("/bulk/status")
+    public ResponseEntity<List<TaskResponseDto>> updateStatuses(@Valid @RequestBody BulkStatusUpdateRequestDto dto,
+                                                                Principal principal) {
+        Long userId = Long.parseLong(principal.getName());
+        return ResponseEntity.ok(taskService.updateStatusBulk(dto.getTaskIds(), dto.getStatus(), userId));
+    }
     @Operation(summary = "Update task priority",
             description = "Updates only the priority level of an existing task.",
             tags = {"Task management"},
@@ -247,10 +383,16 @@ public class TaskController {
     @ApiResponse(responseCode = "403", description = "Forbidden: Cannot archive tasks of another user.",
             content = @Content(schema = @Schema(hidden = true)))
     @DeleteMapping("/{id}/series/archive")
-    public ResponseEntity<List<TaskResponseDto>> archiveSeries(
+    public ResponseEntity<?> archiveSeries(
             @Parameter(description = "ID of any task within the series to be archived", example = "50")
-            @PathVariable Long id, Principal principal) {
+            @PathVariable Long id,
+            @Parameter(description = "Return only the number of archived tasks instead of the whole series", example = "true")
+            @RequestParam(defaultValue = "false") boolean summary,
+            Principal principal) {
         Long userId = Long.parseLong(principal.getName());
+        if (summary) {
+            return ResponseEntity.ok(taskService.archiveTaskSeriesSummary(id, userId));
+        }
         List<TaskResponseDto> taskResponseDtos = taskService.archiveTaskSeries(id, userId);
         return ResponseEntity.ok(taskResponseDtos);
     }
@@ -268,26 +410,7 @@ public class TaskController {
 
         Long userId = Long.parseLong(principal.getName());
 
-        if (sortParams == null || sortParams.isEmpty()) {
-            sortParams = List.of("dueDate,asc");
-        }
-        if (sortParams.size() == 2
-                && !sortParams.get(0).contains(",")
-                && (sortParams.get(1).equalsIgnoreCase("asc") || sortParams.get(1).equalsIgnoreCase("desc"))) {
-            sortParams = List.of(sortParams.get(0) + "," + sortParams.get(1));
-        }
-
-        List<Sort.Order> orders = sortParams.stream()
-                .map(s -> {
-                    String[] parts = s.split(",");
-                    String property = parts[0].trim();
-                    Sort.Direction direction = (parts.length > 1 && parts[1].trim().equalsIgnoreCase("desc"))
-                            ? Sort.Direction.DESC : Sort.Direction.ASC;
-                    return new Sort.Order(direction, property);
-                })
-                .toList();
-
-        Pageable pageable = PageRequest.of(page, size, Sort.by(orders));
+        Pageable pageable = PageRequest.of(page, size, taskSortResolver.resolve(sortParams, "archived", false));
         Page<TaskResponseDto> tasks = taskService.getArchivedTasks(userId, pageable);
         return ResponseEntity.ok(tasks);
     }
@@ -321,12 +444,15 @@ public class TaskController {
     @ApiResponse(responseCode = "409", description = "Conflict: Only fully archived series can be permanently deleted.",
             content = @Content(schema = @Schema(hidden = true)))
     @DeleteMapping("/{id}/series/permanent")
-    public ResponseEntity<Void> deleteArchivedTaskSeries(
+    public ResponseEntity<SeriesSummaryDto> deleteArchivedTaskSeries(
             @Parameter(description = "ID of any task within the series to be permanently deleted", example = "50")
-            @PathVariable Long id, Principal principal) {
+            @PathVariable Long id,
+            @Parameter(description = "Respond 200 with the number of deleted tasks instead of 204", example = "true")
+            @RequestParam(defaultValue = "false") boolean summary,
+            Principal principal) {
         Long userId = Long.parseLong(principal.getName());
-        taskService.deleteRepeatTaskSeries(id, userId);
-        return ResponseEntity.noContent().build();
+        SeriesSummaryDto deleted = taskService.deleteRepeatTaskSeries(id, userId);
+        return summary ? ResponseEntity.ok(deleted) : ResponseEntity.noContent().build();
     }
     @Operation(summary = "Permanently delete multiple archived tasks",
             description = "Performs bulk deletion of single tasks (all tasks must be ARCHIVED and non-recurring).",
@@ -0,0 +1,29 @@
+package com.taskService.dto;
+
+import com.taskService.model.Status;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Request object for setting the status of many tasks at once")
+public class BulkStatusUpdateRequestDto {
+    @Schema(description = "IDs of the tasks to update, at most 5000", example = "[1, 2, 3]")
+    @NotEmpty(message = "Task IDs are required")
+    @Size(max = BulkTaskRequestDto.MAX_TASKS, message = "At most " + BulkTaskRequestDto.MAX_TASKS + " tasks per request")
+    private List<@NotNull Long> taskIds;
+
+    @Schema(description = "New status for the tasks", example = "COMPLETED")
+    @NotNull(message = "Status is required")
+    private Status status;
+}
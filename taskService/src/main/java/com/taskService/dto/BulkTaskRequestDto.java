@@ -0,0 +1,26 @@
+package com.taskService.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Request object for creating many tasks at once")
+public class BulkTaskRequestDto {
+    public static final int MAX_TASKS = 5000;
+
+    @Schema(description = "Tasks to create, at most 5000")
+    @NotEmpty(message = "Tasks are required")
+    @Size(max = MAX_TASKS, message = "At most " + MAX_TASKS + " tasks per request")
+    private List<@Valid TaskRequestDto> tasks;
+}
@@ -0,0 +1,29 @@
+package com.taskService.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "One page of a keyset-paginated listing")
+public class CursorPageResponseDto<T> {
+    @Schema(description = "Items of this page")
+    private List<T> content;
+    @Schema(description = "Opaque token to pass as 'cursor' for the next page, null on the last page", example = "djF8NDI")
+    private String nextCursor;
+    @Schema(description = "Whether another page follows", example = "true")
+    private boolean hasNext;
+    @Schema(description = "Requested page size", example = "20")
+    private int size;
+    @Schema(description = "Total number of matches, only when requested with withCount=true", example = "137")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalElements;
+}
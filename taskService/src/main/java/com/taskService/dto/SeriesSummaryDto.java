@@ -0,0 +1,19 @@
+package com.taskService.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Outcome of a set-based operation on a repeat series")
+public class SeriesSummaryDto {
+    @Schema(description = "Identification of the series (ID of its first task)", example = "50")
+    private Long seriesId;
+    @Schema(description = "Number of tasks the operation changed", example = "1440")
+    private int affectedTasks;
+}
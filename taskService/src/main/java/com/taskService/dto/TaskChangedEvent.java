@@ -0,0 +1,35 @@
+package com.taskService.dto;
+
+import com.taskService.model.Status;
+import com.taskService.model.Task;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@code TaskService} and the scheduler whenever a task is created, changed or deleted,
+ * so in-memory views of the task table can follow along once the change is committed.
+ */
+public record TaskChangedEvent(Long taskId, Long userId, LocalDateTime dueDate, Status status,
+                               boolean nearlyOverdueNotified, boolean deleted) {
+
+    public static TaskChangedEvent of(Task task) {
+        return new TaskChangedEvent(task.getId(), task.getUserId(), task.getDueDate(), task.getStatus(),
+                task.isNearlyOverdueNotified(), false);
+    }
+
+    // for bulk updates that change the row but not the loaded entity
+    public static TaskChangedEvent withStatus(Task task, Status status) {
+        return new TaskChangedEvent(task.getId(), task.getUserId(), task.getDueDate(), status,
+                task.isNearlyOverdueNotified(), false);
+    }
+
+    // a repeating task moved on to its next occurrence
+    public static TaskChangedEvent rescheduled(Task task, LocalDateTime dueDate) {
+        return new TaskChangedEvent(task.getId(), task.getUserId(), dueDate, task.getStatus(), false, false);
+    }
+
+    public static TaskChangedEvent deleted(Task task) {
+        return new TaskChangedEvent(task.getId(), task.getUserId(), task.getDueDate(), task.getStatus(),
+                task.isNearlyOverdueNotified(), true);
+    }
+}
@@ -0,0 +1,12 @@
+package com.taskService.dto;
+
+import by.info_microservice.core.TaskEventDto;
+
+import java.util.List;
+
+public record TaskEventBatchResult(List<TaskEventDto> acknowledged, List<TaskEventDto> failed) {
+
+    public boolean allAcknowledged() {
+        return failed.isEmpty();
+    }
+}
@@ -0,0 +1,33 @@
+package com.taskService.dto;
+
+import com.taskService.model.Priority;
+import com.taskService.model.Status;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "One occurrence of a repeating task")
+public class TaskOccurrenceDto {
+    @Schema(description = "Identification of the series (ID of its first task)", example = "50")
+    private Long seriesId;
+    @Schema(description = "Identification of the task row, empty for occurrences computed from the rule", example = "51")
+    private Long taskId;
+    @Schema(description = "Title task", example = "Water the plants")
+    private String title;
+    @Schema(description = "Priority task", example = "LOW")
+    private Priority priority;
+    @Schema(description = "What date the occurrence must be completed", example = "2025-09-30 20:00:00")
+    private LocalDateTime dueDate;
+    @Schema(description = "Status of the occurrence", example = "NOT_COMPLETED")
+    private Status status;
+    @Schema(description = "Whether the occurrence is stored as its own row", example = "false")
+    private boolean materialized;
+}
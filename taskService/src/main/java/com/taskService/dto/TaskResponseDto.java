@@ -36,4 +36,10 @@ public class TaskResponseDto {
     private boolean isRepeat;
     @Schema(description = "Frequency the task will repeat", example = "DAY")
     private Frequency_repeat frequency_repeat;
+
+    // list views that skip the TEXT description column
+    public TaskResponseDto(Long id, Long userId, String title, LocalDateTime date, LocalDateTime dueDate,
+                           Status status, Priority priority, boolean isRepeat, Frequency_repeat frequency_repeat) {
+        this(id, userId, title, null, date, dueDate, status, priority, isRepeat, frequency_repeat);
+    }
 }
@@ -0,0 +1,18 @@
+package com.taskService.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keyset position in a scheduler scan ordered by {@code (due_date, id)}.
+ */
+public record ScanCursor(LocalDateTime dueDate, Long id) {
+    private static final LocalDateTime BEFORE_ANY_DUE_DATE = LocalDateTime.of(1000, 1, 1, 0, 0);
+
+    public static ScanCursor start() {
+        return new ScanCursor(BEFORE_ANY_DUE_DATE, 0L);
+    }
+
+    public static ScanCursor after(Task task) {
+        return new ScanCursor(task.getDueDate(), task.getId());
+    }
+}
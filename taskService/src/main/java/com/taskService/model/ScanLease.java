@@ -0,0 +1,26 @@
+package com.taskService.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "task_scan_lease")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScanLease {
+
+    @Id
+    @Column(name = "shard_id")
+    private Integer shardId;
+    @Column(nullable = true)
+    private String owner;
+    @Column(nullable = true, name = "expires_at")
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,24 @@
+package com.taskService.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "task_scan_node")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScanNode {
+
+    @Id
+    @Column(name = "node_id")
+    private String nodeId;
+    @Column(nullable = false, name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+}
@@ -0,0 +1,22 @@
+package com.taskService.model;
+
+import java.util.List;
+
+/**
+ * Slice of the task table a scheduler instance is allowed to scan:
+ * tasks whose {@code MOD(user_id, shardCount)} is one of {@code shards}.
+ */
+public record ScanScope(long shardCount, List<Long> shards) {
+
+    public static ScanScope unsharded() {
+        return new ScanScope(1, List.of(0L));
+    }
+
+    public boolean isEmpty() {
+        return shards.isEmpty();
+    }
+
+    public boolean contains(long userId) {
+        return shards.contains(Math.floorMod(userId, shardCount));
+    }
+}
@@ -19,8 +19,10 @@ import java.time.LocalDateTime;
 @Builder
 public class Task {
 
+    // pooled ids (V6 task_seq) instead of IDENTITY, so inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
     @Column(nullable = false,name = "user_id")
     private Long userId;
@@ -46,6 +48,8 @@ public class Task {
     @Enumerated(EnumType.STRING)
     @Column(nullable = true, name = "frequency_repeat")
     private Frequency_repeat frequencyRepeat;
+    @Column(name = "recurrence_anchor")
+    private LocalDateTime recurrenceAnchor;
     @Column(name = "parent_task_id")
     private Long parentTaskId;
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.taskService.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "task_event_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskEventOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(nullable = false, name = "task_id")
+    private Long taskId;
+    @Column(nullable = false, name = "user_id")
+    private Long userId;
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+    @Column(nullable = false, name = "created_at")
+    private LocalDateTime createdAt;
+    @Column(nullable = true, name = "published_at")
+    private LocalDateTime publishedAt;
+    @Column(nullable = true, name = "claimed_until")
+    private LocalDateTime claimedUntil;
+}
@@ -0,0 +1,45 @@
+package com.taskService.model;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Sort keys accepted by the task listings. Each one is backed by a {@code (user_id, column)} index,
+ * whose implicit primary key suffix serves the id tiebreaker. Priority is a MySQL ENUM, which sorts
+ * by declaration order but compares as a string, so it can't be used for keyset pages.
+ */
+public enum TaskSortKey {
+    DUE_DATE("dueDate", "idx_task_user_due_date", true),
+    DATE("date", "idx_task_user_date", true),
+    TITLE("title", "idx_task_user_title", true),
+    PRIORITY("priority", "idx_task_user_priority", false),
+    ID("id", "fk_task_user_idx", true);
+
+    private final String property;
+    private final String index;
+    private final boolean keyset;
+
+    TaskSortKey(String property, String index, boolean keyset) {
+        this.property = property;
+        this.index = index;
+        this.keyset = keyset;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public String index() {
+        return index;
+    }
+
+    public boolean supportsKeyset() {
+        return keyset;
+    }
+
+    public static Optional<TaskSortKey> fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(key -> key.property.equalsIgnoreCase(property))
+                .findFirst();
+    }
+}
@@ -0,0 +1,39 @@
+package com.taskService.repository;
+
+import com.taskService.model.ScanLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ScanLeaseRepository extends JpaRepository<ScanLease, Integer> {
+    // leases renewAll just extended; a lapsed row still names its old owner until someone claims it
+    List<ScanLease> findAllByOwnerAndExpiresAtGreaterThanEqualOrderByShardIdAsc(String owner, LocalDateTime now);
+
+    @Query("SELECT l FROM ScanLease l WHERE l.shardId < :shardCount " +
+            "AND (l.owner IS NULL OR l.expiresAt < :now) ORDER BY l.shardId")
+    List<ScanLease> findClaimable(@Param("shardCount") int shardCount, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE ScanLease l SET l.owner = :owner, l.expiresAt = :expiresAt " +
+            "WHERE l.shardId = :shardId AND (l.owner IS NULL OR l.owner = :owner OR l.expiresAt < :now)")
+    int tryAcquire(@Param("shardId") Integer shardId,
+                   @Param("owner") String owner,
+                   @Param("now") LocalDateTime now,
+                   @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE ScanLease l SET l.expiresAt = :expiresAt WHERE l.owner = :owner AND l.expiresAt >= :now")
+    int renewAll(@Param("owner") String owner,
+                 @Param("now") LocalDateTime now,
+                 @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE ScanLease l SET l.owner = NULL, l.expiresAt = NULL WHERE l.shardId = :shardId AND l.owner = :owner")
+    int release(@Param("shardId") Integer shardId, @Param("owner") String owner);
+}
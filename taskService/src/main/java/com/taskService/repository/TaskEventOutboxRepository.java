@@ -0,0 +1,41 @@
+package com.taskService.repository;
+
+import com.taskService.model.TaskEventOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TaskEventOutboxRepository extends JpaRepository<TaskEventOutbox, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = TaskRepository.SKIP_LOCKED))
+    @Query("SELECT o FROM TaskEventOutbox o WHERE o.publishedAt IS NULL " +
+            "AND (o.claimedUntil IS NULL OR o.claimedUntil < :now) " +
+            "AND MOD(o.userId, :shardCount) IN :shards ORDER BY o.id ASC")
+    List<TaskEventOutbox> findPending(@Param("shardCount") long shardCount,
+                                      @Param("shards") List<Long> shards,
+                                      @Param("now") LocalDateTime now,
+                                      Pageable batch);
+
+    @Modifying
+    @Query("UPDATE TaskEventOutbox o SET o.publishedAt = :publishedAt WHERE o.id IN :ids")
+    int markPublished(@Param("ids") List<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    @Modifying
+    @Query("UPDATE TaskEventOutbox o SET o.claimedUntil = NULL WHERE o.id IN :ids")
+    int releaseClaims(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM TaskEventOutbox o WHERE o.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
@@ -1,12 +1,18 @@
 package com.taskService.repository;
 
+import com.taskService.dto.TaskResponseDto;
 import com.taskService.model.Status;
 import com.taskService.model.Task;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -15,25 +21,146 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
-    Page<Task> findAllByUserId(Long userId, Pageable pageable);
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskRepositoryCustom {
+    // Hibernate's LockOptions.SKIP_LOCKED: concurrent scanners skip rows another instance is processing
+    String SKIP_LOCKED = "-2";
+
+    // constructor expressions: listings read straight into DTOs, no managed entities or snapshots
+    String TASK_DTO = "new com.taskService.dto.TaskResponseDto(t.id, t.userId, t.title, t.description, t.date, " +
+            "t.dueDate, t.status, t.priority, t.isRepeat, t.frequencyRepeat)";
+    String TASK_SUMMARY_DTO = "new com.taskService.dto.TaskResponseDto(t.id, t.userId, t.title, t.date, " +
+            "t.dueDate, t.status, t.priority, t.isRepeat, t.frequencyRepeat)";
+
+    @Query(value = "SELECT " + TASK_DTO + " FROM Task t WHERE t.userId = :userId",
+            countQuery = "SELECT COUNT(t) FROM Task t WHERE t.userId = :userId")
+    Page<TaskResponseDto> findDtoByUserId(@Param("userId") Long userId, Pageable pageable);
+    @Query(value = "SELECT " + TASK_SUMMARY_DTO + " FROM Task t WHERE t.userId = :userId",
+            countQuery = "SELECT COUNT(t) FROM Task t WHERE t.userId = :userId")
+    Page<TaskResponseDto> findSummaryByUserId(@Param("userId") Long userId, Pageable pageable);
+    long countByUserId(Long userId);
     List<Task> findAllByStatus(Status status);
-    @Query("SELECT t FROM Task t WHERE t.userId = :userId AND " +
+    @Query(value = "SELECT " + TASK_DTO + " FROM Task t WHERE t.userId = :userId AND " +
             "(LOWER(t.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
-            "OR LOWER(t.description) LIKE LOWER(CONCAT('%', :keyword, '%')))")
-    Page<Task> searchByKeyword(@Param("userId") Long userId,
-                               @Param("keyword") String keyword,
-                               Pageable pageable);
-    Page<Task> findAllByUserIdAndStatusNot(Long userId, Status status, Pageable pageable);
-
-    Page<Task> findAllByUserIdAndStatus(Long userId, Status status, Pageable pageable);
+            "OR LOWER(t.description) LIKE LOWER(CONCAT('%', :keyword, '%')))",
+            countQuery = "SELECT COUNT(t) FROM Task t WHERE t.userId = :userId AND " +
+                    "(LOWER(t.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+                    "OR LOWER(t.description) LIKE LOWER(CONCAT('%', :keyword, '%')))")
+    Page<TaskResponseDto> searchByKeyword(@Param("userId") Long userId,
+                                          @Param("keyword") String keyword,
+                                          Pageable pageable);
+    @Query(value = "SELECT " + TASK_DTO + " FROM Task t WHERE t.userId = :userId AND t.status <> :status",
+            countQuery = "SELECT COUNT(t) FROM Task t WHERE t.userId = :userId AND t.status <> :status")
+    Page<TaskResponseDto> findDtoByUserIdAndStatusNot(@Param("userId") Long userId,
+                                                      @Param("status") Status status,
+                                                      Pageable pageable);
+    @Query(value = "SELECT " + TASK_DTO + " FROM Task t WHERE t.userId = :userId AND t.status = :status",
+            countQuery = "SELECT COUNT(t) FROM Task t WHERE t.userId = :userId AND t.status = :status")
+    Page<TaskResponseDto> findDtoByUserIdAndStatus(@Param("userId") Long userId,
+                                                   @Param("status") Status status,
+                                                   Pageable pageable);
 
     List<Task> findByDueDateBetweenAndStatus(LocalDateTime start, LocalDateTime end, Status status);
 
-    List<Task> findByDueDateBeforeAndStatus(LocalDateTime dateTime, Status status);
-    List<Task> findByDueDateBetweenAndStatusAndNearlyOverdueNotified(
-            LocalDateTime start, LocalDateTime end, Status status, boolean nearlyOverdueNotified);
-    List<Task> findByDueDateBeforeAndStatusAndIsRepeat(LocalDateTime dateTime, Status status, boolean repeat);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = SKIP_LOCKED))
+    @Query("SELECT t FROM Task t WHERE t.dueDate < :dateTime AND t.status = :status " +
+            "AND MOD(t.userId, :shardCount) IN :shards " +
+            "AND (t.dueDate > :afterDueDate OR (t.dueDate = :afterDueDate AND t.id > :afterId)) " +
+            "ORDER BY t.dueDate ASC, t.id ASC")
+    List<Task> findOverdueChunk(@Param("dateTime") LocalDateTime dateTime,
+                                @Param("status") Status status,
+                                @Param("shardCount") long shardCount,
+                                @Param("shards") List<Long> shards,
+                                @Param("afterDueDate") LocalDateTime afterDueDate,
+                                @Param("afterId") Long afterId,
+                                Pageable chunk);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = SKIP_LOCKED))
+    @Query("SELECT t FROM Task t WHERE t.dueDate BETWEEN :start AND :end AND t.status = :status " +
+            "AND t.nearlyOverdueNotified = :notified AND MOD(t.userId, :shardCount) IN :shards " +
+            "AND (t.dueDate > :afterDueDate OR (t.dueDate = :afterDueDate AND t.id > :afterId)) " +
+            "ORDER BY t.dueDate ASC, t.id ASC")
+    List<Task> findNearlyOverdueChunk(@Param("start") LocalDateTime start,
+                                      @Param("end") LocalDateTime end,
+                                      @Param("status") Status status,
+                                      @Param("notified") boolean nearlyOverdueNotified,
+                                      @Param("shardCount") long shardCount,
+                                      @Param("shards") List<Long> shards,
+                                      @Param("afterDueDate") LocalDateTime afterDueDate,
+                                      @Param("afterId") Long afterId,
+                                      Pageable chunk);
+    @Query("SELECT t FROM Task t WHERE t.dueDate <= :until AND t.status = :status " +
+            "AND MOD(t.userId, :shardCount) IN :shards " +
+            "AND (t.dueDate > :afterDueDate OR (t.dueDate = :afterDueDate AND t.id > :afterId)) " +
+            "ORDER BY t.dueDate ASC, t.id ASC")
+    List<Task> findDueChunk(@Param("until") LocalDateTime until,
+                            @Param("status") Status status,
+                            @Param("shardCount") long shardCount,
+                            @Param("shards") List<Long> shards,
+                            @Param("afterDueDate") LocalDateTime afterDueDate,
+                            @Param("afterId") Long afterId,
+                            Pageable chunk);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = SKIP_LOCKED))
+    @Query("SELECT t FROM Task t WHERE t.id IN :ids AND t.dueDate < :dateTime AND t.status = :status " +
+            "AND MOD(t.userId, :shardCount) IN :shards ORDER BY t.dueDate ASC, t.id ASC")
+    List<Task> findOverdueByIds(@Param("ids") List<Long> ids,
+                                @Param("dateTime") LocalDateTime dateTime,
+                                @Param("status") Status status,
+                                @Param("shardCount") long shardCount,
+                                @Param("shards") List<Long> shards);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = SKIP_LOCKED))
+    @Query("SELECT t FROM Task t WHERE t.id IN :ids AND t.dueDate BETWEEN :start AND :end AND t.status = :status " +
+            "AND t.nearlyOverdueNotified = :notified AND MOD(t.userId, :shardCount) IN :shards " +
+            "ORDER BY t.dueDate ASC, t.id ASC")
+    List<Task> findNearlyOverdueByIds(@Param("ids") List<Long> ids,
+                                      @Param("start") LocalDateTime start,
+                                      @Param("end") LocalDateTime end,
+                                      @Param("status") Status status,
+                                      @Param("notified") boolean nearlyOverdueNotified,
+                                      @Param("shardCount") long shardCount,
+                                      @Param("shards") List<Long> shards);
+    @Modifying
+    @Query("UPDATE Task t SET t.status = :to WHERE t.id IN :ids AND t.status = :from")
+    int updateStatusByIds(@Param("ids") List<Long> ids, @Param("from") Status from, @Param("to") Status to);
+    @Modifying
+    @Query("UPDATE Task t SET t.dueDate = :next, t.recurrenceAnchor = :anchor, t.nearlyOverdueNotified = false " +
+            "WHERE t.id = :id AND t.status = :status")
+    int advanceOccurrence(@Param("id") Long id, @Param("anchor") LocalDateTime anchor,
+                          @Param("next") LocalDateTime next, @Param("status") Status status);
+    @Modifying
+    @Query("UPDATE Task t SET t.nearlyOverdueNotified = true WHERE t.id IN :ids AND t.nearlyOverdueNotified = false")
+    int markNearlyOverdueNotified(@Param("ids") List<Long> ids);
     @Query("SELECT t FROM Task t WHERE t.userId = :userId AND (t.id = :groupId OR t.parentTaskId = :groupId)")
     List<Task> findRepeatGroupTasks(@Param("groupId") Long groupId, @Param("userId") Long userId);
+    // the row carrying the recurrence rule; legacy series may still have several repeat rows, the latest one wins
+    @Query("SELECT t FROM Task t WHERE t.userId = :userId AND (t.id = :groupId OR t.parentTaskId = :groupId) " +
+            "AND t.isRepeat = true AND t.dueDate IS NOT NULL ORDER BY t.dueDate DESC, t.id DESC")
+    List<Task> findSeriesRules(@Param("groupId") Long groupId, @Param("userId") Long userId, Pageable limit);
+    @Query("SELECT t FROM Task t WHERE t.userId = :userId AND (t.id = :groupId OR t.parentTaskId = :groupId) " +
+            "AND t.id <> :ruleId AND t.dueDate BETWEEN :from AND :to ORDER BY t.dueDate, t.id")
+    List<Task> findMaterializedOccurrences(@Param("groupId") Long groupId, @Param("userId") Long userId,
+                                           @Param("ruleId") Long ruleId, @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to);
+    @Query("SELECT " + TASK_DTO + " FROM Task t WHERE t.userId = :userId " +
+            "AND (t.id = :groupId OR t.parentTaskId = :groupId) ORDER BY t.id")
+    List<TaskResponseDto> findRepeatGroupDtos(@Param("groupId") Long groupId, @Param("userId") Long userId);
+    // FOR UPDATE on the series rows, and on MySQL the parent_task_id gap, so no occurrence can change status
+    // or join the series between the archived check and deleteRepeatGroupInStatus
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t WHERE t.userId = :userId AND (t.id = :groupId OR t.parentTaskId = :groupId)")
+    List<Task> lockRepeatGroup(@Param("groupId") Long groupId, @Param("userId") Long userId);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = :status WHERE t.userId = :userId " +
+            "AND (t.id = :groupId OR t.parentTaskId = :groupId) AND t.status <> :status")
+    int updateRepeatGroupStatus(@Param("groupId") Long groupId, @Param("userId") Long userId,
+                                @Param("status") Status status);
+    // MySQL can't DELETE from a table it also reads in a subquery, so the "whole series" check runs on the
+    // rows locked by lockRepeatGroup
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Task t WHERE t.userId = :userId " +
+            "AND (t.id = :groupId OR t.parentTaskId = :groupId) AND t.status = :status")
+    int deleteRepeatGroupInStatus(@Param("groupId") Long groupId, @Param("userId") Long userId,
+                                  @Param("status") Status status);
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.taskService.repository;
+
+import com.taskService.dto.TaskResponseDto;
+import com.taskService.model.Task;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface TaskRepositoryCustom {
+    void flushAndClear();
+
+    /**
+     * Streams matching tasks as DTOs with the given JDBC fetch size; no entities are loaded, so the
+     * persistence context stays empty. Must be consumed inside a transaction and closed.
+     */
+    Stream<TaskResponseDto> streamDtoBy(Specification<Task> spec, Sort sort, int fetchSize);
+
+    List<TaskResponseDto> findDtoBy(Specification<Task> spec, Sort sort);
+
+    List<TaskResponseDto> findDtoBy(Specification<Task> spec, Sort sort, int limit);
+
+    Page<TaskResponseDto> findDtoBy(Specification<Task> spec, Pageable pageable);
+
+    /**
+     * MySQL boolean-mode full-text search over title and description, most relevant first.
+     */
+    Page<TaskResponseDto> searchByFullText(Long userId, String query, Pageable pageable);
+
+    /**
+     * Keyset page: up to {@code limit} tasks ordered by {@code sort} with nulls last, starting strictly
+     * after the row whose sort values are {@code after} (in sort order, as strings), or from the start
+     * when {@code after} is null. The last sort property must be unique and only the first may be nullable;
+     * a null first value in {@code after} means the cursor is already in the NULL tail.
+     */
+    List<TaskResponseDto> findPageAfter(Specification<Task> spec, Sort sort, List<String> after, int limit);
+}
@@ -0,0 +1,256 @@
+package com.taskService.repository;
+
+import com.taskService.dto.TaskResponseDto;
+import com.taskService.model.Frequency_repeat;
+import com.taskService.model.Priority;
+import com.taskService.model.Status;
+import com.taskService.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+    private static final String TASK_COLUMNS = "t.id, t.user_id, t.title, t.description, t.date, t.due_date, " +
+            "t.status, t.priority, t.is_repeat, t.frequency_repeat";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Override
+    public Stream<TaskResponseDto> streamDtoBy(Specification<Task> spec, Sort sort, int fetchSize) {
+        return dtoQuery(spec, sort)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    @Override
+    public List<TaskResponseDto> findDtoBy(Specification<Task> spec, Sort sort) {
+        return dtoQuery(spec, sort).getResultList();
+    }
+
+    @Override
+    public List<TaskResponseDto> findDtoBy(Specification<Task> spec, Sort sort, int limit) {
+        return dtoQuery(spec, sort).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Page<TaskResponseDto> findDtoBy(Specification<Task> spec, Pageable pageable) {
+        List<TaskResponseDto> content = dtoQuery(spec, pageable.getSort())
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    // title matches weigh twice as much as description matches; needs the V4 FULLTEXT indexes (MySQL only)
+    @Override
+    public Page<TaskResponseDto> searchByFullText(Long userId, String query, Pageable pageable) {
+        String match = "FROM task t WHERE t.user_id = :userId " +
+                "AND MATCH(t.title, t.description) AGAINST (:query IN BOOLEAN MODE)";
+        List<?> rows = entityManager.createNativeQuery("SELECT " + TASK_COLUMNS + " " + match +
+                        " ORDER BY (2 * MATCH(t.title) AGAINST (:query IN BOOLEAN MODE) " +
+                        "+ MATCH(t.title, t.description) AGAINST (:query IN BOOLEAN MODE)) DESC, t.id DESC", Tuple.class)
+                .setParameter("userId", userId)
+                .setParameter("query", query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        List<TaskResponseDto> content = rows.stream().map(row -> toDto((Tuple) row)).toList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> ((Number) entityManager
+                .createNativeQuery("SELECT COUNT(*) " + match)
+                .setParameter("userId", userId)
+                .setParameter("query", query)
+                .getSingleResult()).longValue());
+    }
+
+    // a nullable leading property is read in two phases, so that each can be a range of its (user_id, column)
+    // index: the non-null values in sort order, then the NULL tail ordered by the remaining properties.
+    // Sorting both at once needs ORDER BY CASE WHEN x IS NULL, which an index cannot order by.
+    @Override
+    public List<TaskResponseDto> findPageAfter(Specification<Task> spec, Sort sort, List<String> after, int limit) {
+        List<Sort.Order> orders = sort.toList();
+        if (after != null && after.size() != orders.size()) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        for (int i = 1; i < orders.size(); i++) {
+            if (isNullable(orders.get(i).getProperty())) {
+                throw new IllegalArgumentException("Only the first sort property may be nullable");
+            }
+        }
+        if (orders.isEmpty() || !isNullable(orders.get(0).getProperty())) {
+            return findRange(spec, orders, after, limit);
+        }
+        String leading = orders.get(0).getProperty();
+        List<TaskResponseDto> page = new ArrayList<>();
+        boolean inNullTail = after != null && after.get(0) == null;
+        if (!inNullTail) {
+            page.addAll(findRange(spec.and((root, query, cb) -> cb.isNotNull(root.get(leading))),
+                    orders, after, limit));
+            if (page.size() == limit) {
+                return page;
+            }
+        }
+        List<Sort.Order> tail = orders.subList(1, orders.size());
+        page.addAll(findRange(spec.and((root, query, cb) -> cb.isNull(root.get(leading))),
+                tail, inNullTail ? after.subList(1, after.size()) : null, limit - page.size()));
+        return page;
+    }
+
+    private List<TaskResponseDto> findRange(Specification<Task> spec, List<Sort.Order> orders, List<String> after,
+                                            int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskResponseDto> query = cb.createQuery(TaskResponseDto.class);
+        Root<Task> root = query.from(Task.class);
+        List<Predicate> where = new ArrayList<>();
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            where.add(predicate);
+        }
+        if (after != null && !orders.isEmpty()) {
+            where.add(after(cb, root, orders, after));
+        }
+        query.select(toDto(cb, root)).where(where.toArray(Predicate[]::new));
+        query.orderBy(QueryUtils.toOrders(Sort.by(orders), root, cb));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private TypedQuery<TaskResponseDto> dtoQuery(Specification<Task> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskResponseDto> query = cb.createQuery(TaskResponseDto.class);
+        Root<Task> root = query.from(Task.class);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(toDto(cb, root)).orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Task> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Task> root = query.from(Task.class);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query.select(cb.count(root))).getSingleResult();
+    }
+
+    // the same constructor as TaskRepository.TASK_DTO: rows are read straight into DTOs, no entities
+    private static CompoundSelection<TaskResponseDto> toDto(CriteriaBuilder cb, Root<Task> root) {
+        return cb.construct(TaskResponseDto.class, root.get("id"), root.get("userId"), root.get("title"),
+                root.get("description"), root.get("date"), root.get("dueDate"), root.get("status"),
+                root.get("priority"), root.get("isRepeat"), root.get("frequencyRepeat"));
+    }
+
+    private static TaskResponseDto toDto(Tuple row) {
+        return new TaskResponseDto(
+                ((Number) row.get("id")).longValue(),
+                ((Number) row.get("user_id")).longValue(),
+                (String) row.get("title"),
+                (String) row.get("description"),
+                toLocalDateTime(row.get("date")),
+                toLocalDateTime(row.get("due_date")),
+                Status.valueOf(row.get("status").toString()),
+                Priority.valueOf(row.get("priority").toString()),
+                toBoolean(row.get("is_repeat")),
+                row.get("frequency_repeat") == null ? null
+                        : Frequency_repeat.valueOf(row.get("frequency_repeat").toString()));
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+
+    // TINYINT(1) comes back as a number or a boolean depending on the driver settings
+    private static boolean toBoolean(Object value) {
+        return value instanceof Number number ? number.intValue() != 0 : Boolean.TRUE.equals(value);
+    }
+
+    // (a, b, id) after (x, y, z): a > x OR (a = x AND b > y) OR (a = x AND b = y AND id > z)
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate after(CriteriaBuilder cb, Root<Task> root, List<Sort.Order> orders, List<String> values) {
+        List<Predicate> alternatives = new ArrayList<>();
+        List<Predicate> equalPrefix = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            Sort.Order order = orders.get(i);
+            Path<Comparable> path = root.get(order.getProperty());
+            Comparable value = parse(path.getJavaType(), values.get(i));
+            if (value == null) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            List<Predicate> alternative = new ArrayList<>(equalPrefix);
+            alternative.add(order.isAscending() ? cb.greaterThan(path, value) : cb.lessThan(path, value));
+            alternatives.add(cb.and(alternative.toArray(Predicate[]::new)));
+            equalPrefix.add(cb.equal(path, value));
+        }
+        return cb.or(alternatives.toArray(Predicate[]::new));
+    }
+
+    private boolean isNullable(String property) {
+        return entityManager.getMetamodel().entity(Task.class).getSingularAttribute(property).isOptional();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparable parse(Class<?> type, String raw) {
+        if (raw == null) {
+            return null;
+        }
+        try {
+            if (type == String.class) {
+                return raw;
+            }
+            if (type == Long.class || type == long.class) {
+                return Long.valueOf(raw);
+            }
+            if (type == Integer.class || type == int.class) {
+                return Integer.valueOf(raw);
+            }
+            if (type == Boolean.class || type == boolean.class) {
+                return Boolean.valueOf(raw);
+            }
+            if (type == LocalDateTime.class) {
+                return LocalDateTime.parse(raw);
+            }
+            if (type == LocalDate.class) {
+                return LocalDate.parse(raw);
+            }
+            if (type.isEnum()) {
+                return Enum.valueOf((Class<Enum>) type, raw);
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        throw new IllegalArgumentException("Cannot page by a " + type.getSimpleName() + " property");
+    }
+}
@@ -0,0 +1,179 @@
+package com.taskService.service;
+
+import com.taskService.dto.TaskChangedEvent;
+import com.taskService.model.ScanCursor;
+import com.taskService.model.ScanScope;
+import com.taskService.model.Status;
+import com.taskService.model.Task;
+import com.taskService.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Fires overdue and nearly-overdue handling within a tick of the deadline. Tasks of the leased shards
+ * that are due within {@code task.scheduler.wheel.horizon-minutes} are loaded into a timing wheel
+ * incrementally and kept current through {@link TaskChangedEvent}s; {@link TaskCheckScheduler}
+ * remains as the reconciliation pass for anything the wheel misses.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DueDateTimerService {
+    private static final long TICK_MS = 1000;
+    private static final long NEARLY_OVERDUE_MINUTES = 15;
+
+    private final TaskRepository taskRepository;
+    private final TaskScanChunkProcessor chunkProcessor;
+    private final ScanLeaseManager scanLeaseManager;
+
+    @Value("${task.scheduler.wheel.enabled:false}")
+    private boolean enabled;
+    @Value("${task.scheduler.wheel.horizon-minutes:120}")
+    private long horizonMinutes;
+    @Value("${task.scheduler.wheel.max-timers:200000}")
+    private int maxTimers;
+    @Value("${task.scheduler.chunk-size:500}")
+    private int chunkSize;
+
+    // 3 levels of 64 one-second slots cover about 72 hours
+    private final TimingWheel<DueTimer> wheel = new TimingWheel<>(TICK_MS, 64, 3, System.currentTimeMillis());
+    private final Queue<DueTimer> dueNow = new ConcurrentLinkedQueue<>();
+    private volatile ScanScope loadedScope;
+    private volatile ScanCursor loadedUntil;
+
+    enum Kind { NEARLY_OVERDUE, OVERDUE }
+
+    record DueTimer(Long taskId, Kind kind) {
+    }
+
+    @Scheduled(fixedDelayString = "${task.scheduler.wheel.load-interval-ms:30000}")
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        ScanScope scope = scanLeaseManager.currentScope();
+        LocalDateTime now = LocalDateTime.now();
+        if (!scope.equals(loadedScope)) {
+            wheel.clear();
+            dueNow.clear();
+            loadedUntil = new ScanCursor(now, Long.MAX_VALUE);
+            loadedScope = scope;
+            log.info("Timer wheel reset for {} of {} shards", scope.shards().size(), scope.shardCount());
+        }
+        if (scope.isEmpty()) {
+            return;
+        }
+        LocalDateTime until = now.plusMinutes(horizonMinutes);
+        ScanCursor cursor = loadedUntil;
+        int loaded = 0;
+        while (true) {
+            if (wheel.size() >= maxTimers) {
+                log.warn("Timer wheel holds {} timers, tasks due after {} are left to the reconciliation scan.",
+                        wheel.size(), cursor.dueDate());
+                break;
+            }
+            List<Task> chunk = taskRepository.findDueChunk(until, Status.NOT_COMPLETED, scope.shardCount(),
+                    scope.shards(), cursor.dueDate(), cursor.id(), PageRequest.of(0, chunkSize));
+            for (Task task : chunk) {
+                schedule(task.getId(), task.getDueDate(), task.isNearlyOverdueNotified());
+            }
+            loaded += chunk.size();
+            if (chunk.size() < chunkSize) {
+                cursor = new ScanCursor(until, Long.MAX_VALUE);
+                break;
+            }
+            cursor = ScanCursor.after(chunk.get(chunk.size() - 1));
+        }
+        loadedUntil = cursor;
+        if (loaded > 0) {
+            log.debug("Loaded {} tasks into the timer wheel up to {}", loaded, cursor.dueDate());
+        }
+    }
+
+    @Scheduled(fixedRate = TICK_MS)
+    public void tick() {
+        if (!enabled) {
+            return;
+        }
+        List<DueTimer> fired = new ArrayList<>(wheel.advance(System.currentTimeMillis()));
+        DueTimer timer;
+        while ((timer = dueNow.poll()) != null) {
+            fired.add(timer);
+        }
+        if (fired.isEmpty()) {
+            return;
+        }
+        ScanScope scope = scanLeaseManager.currentScope();
+        if (scope.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> overdue = fired.stream().filter(t -> t.kind() == Kind.OVERDUE).map(DueTimer::taskId).toList();
+        List<Long> nearlyOverdue = fired.stream().filter(t -> t.kind() == Kind.NEARLY_OVERDUE).map(DueTimer::taskId).toList();
+        for (int from = 0; from < overdue.size(); from += chunkSize) {
+            List<Long> ids = overdue.subList(from, Math.min(from + chunkSize, overdue.size()));
+            try {
+                chunkProcessor.processOverdueTasks(scope, now, ids);
+            } catch (Exception e) {
+                log.warn("Failed to handle {} overdue timers, left for the reconciliation scan: {}", ids.size(), e.getMessage());
+            }
+        }
+        for (int from = 0; from < nearlyOverdue.size(); from += chunkSize) {
+            List<Long> ids = nearlyOverdue.subList(from, Math.min(from + chunkSize, nearlyOverdue.size()));
+            try {
+                chunkProcessor.processNearlyOverdueTasks(scope, now, now.plusMinutes(NEARLY_OVERDUE_MINUTES), ids);
+            } catch (Exception e) {
+                log.warn("Failed to handle {} nearly overdue timers, left for the reconciliation scan: {}", ids.size(), e.getMessage());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        wheel.cancel(new DueTimer(event.taskId(), Kind.OVERDUE));
+        wheel.cancel(new DueTimer(event.taskId(), Kind.NEARLY_OVERDUE));
+        if (event.deleted() || event.status() != Status.NOT_COMPLETED || event.dueDate() == null) {
+            return;
+        }
+        ScanScope scope = loadedScope;
+        ScanCursor until = loadedUntil;
+        // beyond the loaded horizon the task is picked up by a later load()
+        if (scope == null || !scope.contains(event.userId()) || until == null || event.dueDate().isAfter(until.dueDate())) {
+            return;
+        }
+        schedule(event.taskId(), event.dueDate(), event.nearlyOverdueNotified());
+    }
+
+    int pendingTimers() {
+        return wheel.size() + dueNow.size();
+    }
+
+    private void schedule(Long taskId, LocalDateTime dueDate, boolean nearlyOverdueNotified) {
+        long dueMs = dueDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        schedule(new DueTimer(taskId, Kind.OVERDUE), dueMs);
+        if (!nearlyOverdueNotified) {
+            schedule(new DueTimer(taskId, Kind.NEARLY_OVERDUE), dueMs - NEARLY_OVERDUE_MINUTES * 60_000);
+        }
+    }
+
+    private void schedule(DueTimer timer, long deadlineMs) {
+        if (!wheel.schedule(timer, deadlineMs) && deadlineMs <= System.currentTimeMillis()) {
+            dueNow.add(timer);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.taskService.service;
+
+import com.taskService.model.Frequency_repeat;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Occurrence arithmetic for repeating tasks. The k-th occurrence of a series is always computed from
+ * its anchor ({@code anchor + k * frequency}), so month and year steps don't drift after a clamped
+ * day (Jan 31, Feb 28, Mar 31) and catching up over any gap takes constant time.
+ */
+final class Recurrence {
+
+    private Recurrence() {
+    }
+
+    /**
+     * First occurrence strictly after {@code after}; the anchor itself if it is still ahead.
+     */
+    static LocalDateTime next(LocalDateTime anchor, Frequency_repeat frequency, LocalDateTime after) {
+        return at(anchor, frequency, indexAfter(anchor, frequency, after));
+    }
+
+    /**
+     * Occurrences within {@code [from, to]} in order, at most {@code limit} of them.
+     */
+    static List<LocalDateTime> between(LocalDateTime anchor, Frequency_repeat frequency,
+                                       LocalDateTime from, LocalDateTime to, int limit) {
+        List<LocalDateTime> occurrences = new ArrayList<>();
+        long index = indexAfter(anchor, frequency, from.minusNanos(1));
+        LocalDateTime occurrence = at(anchor, frequency, index);
+        while (!occurrence.isAfter(to) && occurrences.size() < limit) {
+            occurrences.add(occurrence);
+            occurrence = at(anchor, frequency, ++index);
+        }
+        return occurrences;
+    }
+
+    private static long indexAfter(LocalDateTime anchor, Frequency_repeat frequency, LocalDateTime after) {
+        if (anchor.isAfter(after)) {
+            return 0;
+        }
+        // between() truncates and month steps clamp the day, so at most a step or two is left to walk
+        long index = unit(frequency).between(anchor, after);
+        while (!at(anchor, frequency, index).isAfter(after)) {
+            index++;
+        }
+        return index;
+    }
+
+    private static LocalDateTime at(LocalDateTime anchor, Frequency_repeat frequency, long index) {
+        return anchor.plus(index, unit(frequency));
+    }
+
+    private static ChronoUnit unit(Frequency_repeat frequency) {
+        if (frequency == null) {
+            return ChronoUnit.DAYS;
+        }
+        return switch (frequency) {
+            case HOUR -> ChronoUnit.HOURS;
+            case DAY -> ChronoUnit.DAYS;
+            case WEEK -> ChronoUnit.WEEKS;
+            case MONTH -> ChronoUnit.MONTHS;
+            case YEAR -> ChronoUnit.YEARS;
+        };
+    }
+}
@@ -0,0 +1,112 @@
+package com.taskService.service;
+
+import com.taskService.model.ScanLease;
+import com.taskService.model.ScanNode;
+import com.taskService.model.ScanScope;
+import com.taskService.repository.ScanLeaseRepository;
+import com.taskService.repository.ScanNodeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScanLeaseManager {
+    private final ScanLeaseRepository scanLeaseRepository;
+    private final ScanNodeRepository scanNodeRepository;
+
+    @Value("${task.scheduler.sharding.enabled:false}")
+    private boolean enabled;
+    @Value("${task.scheduler.sharding.shard-count:16}")
+    private int shardCount;
+    @Value("${task.scheduler.sharding.lease-ttl-ms:30000}")
+    private long leaseTtlMs;
+    @Value("${task.scheduler.sharding.node-id:${random.uuid}}")
+    private String nodeId;
+
+    private volatile List<Long> ownedShards = List.of();
+    private volatile LocalDateTime leaseValidUntil = LocalDateTime.MIN;
+    private boolean shardsInitialized;
+
+    public ScanScope currentScope() {
+        if (!enabled) {
+            return ScanScope.unsharded();
+        }
+        if (LocalDateTime.now().isAfter(leaseValidUntil)) {
+            return new ScanScope(shardCount, List.of());
+        }
+        return new ScanScope(shardCount, ownedShards);
+    }
+
+    @Scheduled(fixedRateString = "${task.scheduler.sharding.heartbeat-ms:10000}")
+    @Transactional
+    public void heartbeat() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Duration leaseTtl = Duration.ofMillis(leaseTtlMs);
+        LocalDateTime expiresAt = now.plus(leaseTtl);
+        if (!shardsInitialized) {
+            initShards();
+        }
+        scanNodeRepository.save(new ScanNode(nodeId, now));
+        scanNodeRepository.deleteStale(now.minus(leaseTtl.multipliedBy(10)));
+
+        long activeNodes = Math.max(1, scanNodeRepository.countByHeartbeatAtGreaterThanEqual(now.minus(leaseTtl)));
+        int fairShare = (int) Math.ceil((double) shardCount / activeNodes);
+
+        // only leases that were still valid are renewed; a lapsed one may already be scanned by another
+        // node, so it counts as lost and has to be won back through tryAcquire like any free shard
+        scanLeaseRepository.renewAll(nodeId, now, expiresAt);
+        List<Integer> owned = new ArrayList<>(scanLeaseRepository
+                .findAllByOwnerAndExpiresAtGreaterThanEqualOrderByShardIdAsc(nodeId, now).stream()
+                .map(ScanLease::getShardId)
+                .filter(shardId -> shardId < shardCount)
+                .toList());
+
+        while (owned.size() > fairShare) {
+            Integer released = owned.remove(owned.size() - 1);
+            scanLeaseRepository.release(released, nodeId);
+            log.info("Node {} released shard {} (fair share {})", nodeId, released, fairShare);
+        }
+        if (owned.size() < fairShare) {
+            for (ScanLease lease : scanLeaseRepository.findClaimable(shardCount, now)) {
+                if (owned.size() >= fairShare) {
+                    break;
+                }
+                if (scanLeaseRepository.tryAcquire(lease.getShardId(), nodeId, now, expiresAt) == 1) {
+                    owned.add(lease.getShardId());
+                    log.info("Node {} acquired shard {}", nodeId, lease.getShardId());
+                }
+            }
+        }
+        ownedShards = owned.stream().sorted().map(Integer::longValue).toList();
+        leaseValidUntil = expiresAt;
+    }
+
+    private void initShards() {
+        List<Integer> existing = scanLeaseRepository.findAllById(IntStream.range(0, shardCount).boxed().toList()).stream()
+                .map(ScanLease::getShardId)
+                .toList();
+        List<ScanLease> missing = IntStream.range(0, shardCount)
+                .filter(shardId -> !existing.contains(shardId))
+                .mapToObj(shardId -> ScanLease.builder().shardId(shardId).build())
+                .toList();
+        if (!missing.isEmpty()) {
+            scanLeaseRepository.saveAll(missing);
+            log.info("Created {} scan lease rows for {} shards", missing.size(), shardCount);
+        }
+        shardsInitialized = true;
+    }
+}
@@ -0,0 +1,109 @@
+package com.taskService.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskService.dto.TaskResponseDto;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Opaque continuation tokens for keyset pagination. v1 carries the last task id; v2 carries the sort
+ * it was issued for, the last row's values of every sort property, ending with the id tiebreaker, and the
+ * scan phase: {@code values} while the first sort property is non-null, {@code nulls} once the page walked
+ * into its NULL tail.
+ */
+final class TaskCursor {
+    private static final String VERSION = "v1";
+    private static final String KEYSET_VERSION = "v2";
+    private static final String ID = "id";
+    private static final String VALUES_PHASE = "values";
+    private static final String NULLS_PHASE = "nulls";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    record Keyset(String v, String sort, String phase, List<String> values) {
+    }
+
+    private TaskCursor() {
+    }
+
+    static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((VERSION + "|" + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static long decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 2 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return Long.parseLong(parts[1]);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Cuts {@code sort} after its id order, or appends {@code id asc} so every row has a unique position.
+     */
+    static Sort withTiebreaker(Sort sort) {
+        List<Sort.Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            orders.add(order);
+            if (ID.equals(order.getProperty())) {
+                return Sort.by(orders);
+            }
+        }
+        orders.add(Sort.Order.asc(ID));
+        return Sort.by(orders);
+    }
+
+    static String encode(Sort sort, TaskResponseDto last) {
+        DirectFieldAccessor accessor = new DirectFieldAccessor(last);
+        List<String> values = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Object value = accessor.getPropertyValue(order.getProperty());
+            values.add(value == null ? null : value instanceof Enum<?> e ? e.name() : value.toString());
+        }
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(MAPPER.writeValueAsBytes(new Keyset(KEYSET_VERSION, describe(sort),
+                            !values.isEmpty() && values.get(0) == null ? NULLS_PHASE : VALUES_PHASE, values)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode cursor", e);
+        }
+    }
+
+    static List<String> decode(String cursor, Sort sort) {
+        Keyset keyset;
+        try {
+            keyset = MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), Keyset.class);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        if (!KEYSET_VERSION.equals(keyset.v()) || keyset.values() == null || keyset.values().isEmpty()) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        boolean inNullTail = keyset.values().get(0) == null;
+        if (keyset.phase() != null && !keyset.phase().equals(inNullTail ? NULLS_PHASE : VALUES_PHASE)) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (!describe(sort).equals(keyset.sort())) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort");
+        }
+        return keyset.values();
+    }
+
+    private static String describe(Sort sort) {
+        return sort.stream()
+                .map(order -> order.getProperty() + ":" + order.getDirection())
+                .collect(Collectors.joining(","));
+    }
+}
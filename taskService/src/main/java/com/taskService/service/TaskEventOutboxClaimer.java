@@ -0,0 +1,47 @@
+package com.taskService.service;
+
+import com.taskService.model.ScanScope;
+import com.taskService.model.TaskEventOutbox;
+import com.taskService.repository.TaskEventOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class TaskEventOutboxClaimer {
+    private final TaskEventOutboxRepository outboxRepository;
+
+    @Value("${task.events.outbox.claim-lease-ms:300000}")
+    private long claimLeaseMs = 300_000;
+
+    /**
+     * Locks up to {@code batchSize} pending, unclaimed rows of the scope, skipping rows another relay has
+     * locked, and claims them for {@code claim-lease-ms}. The claim commits on return, so the batch is
+     * published without an open transaction; rows of a relay that died are claimed again after the lease.
+     */
+    @Transactional
+    public List<TaskEventOutbox> claim(ScanScope scope, LocalDateTime now, int batchSize) {
+        List<TaskEventOutbox> batch = outboxRepository.findPending(scope.shardCount(), scope.shards(), now,
+                PageRequest.of(0, batchSize));
+        LocalDateTime claimedUntil = now.plus(Duration.ofMillis(claimLeaseMs));
+        batch.forEach(row -> row.setClaimedUntil(claimedUntil));
+        return batch;
+    }
+
+    @Transactional
+    public void finish(List<Long> published, List<Long> released, LocalDateTime now) {
+        if (!published.isEmpty()) {
+            outboxRepository.markPublished(published, now);
+        }
+        if (!released.isEmpty()) {
+            outboxRepository.releaseClaims(released);
+        }
+    }
+}
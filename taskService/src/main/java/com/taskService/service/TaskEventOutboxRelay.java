@@ -0,0 +1,126 @@
+package com.taskService.service;
+
+import by.info_microservice.core.TaskEventDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskService.dto.TaskEventBatchResult;
+import com.taskService.model.ScanScope;
+import com.taskService.model.TaskEventOutbox;
+import com.taskService.repository.TaskEventOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskEventOutboxRelay {
+    private final TaskEventOutboxRepository outboxRepository;
+    private final TaskEventOutboxClaimer outboxClaimer;
+    private final TaskEventProducer taskEventProducer;
+    private final ScanLeaseManager scanLeaseManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${task.events.outbox.enabled:false}")
+    private boolean enabled;
+    @Value("${task.events.outbox.batch-size:1000}")
+    private int batchSize;
+    @Value("${task.events.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    // Outbox rows are relayed by the instance that owns the user's scan shard, so all events of a task
+    // go through one producer and keep their order on the task-id keyed partition. Not transactional:
+    // the batch is claimed and committed first, and the outcome is saved once Kafka has answered.
+    @Scheduled(fixedDelayString = "${task.events.outbox.relay-interval-ms:1000}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        ScanScope scope = scanLeaseManager.currentScope();
+        if (scope.isEmpty()) {
+            return;
+        }
+        List<TaskEventOutbox> batch = outboxClaimer.claim(scope, LocalDateTime.now(), batchSize);
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<Long, Deque<TaskEventOutbox>> pendingByTask = new LinkedHashMap<>();
+        for (TaskEventOutbox row : batch) {
+            pendingByTask.computeIfAbsent(row.getTaskId(), taskId -> new ArrayDeque<>()).add(row);
+        }
+
+        // Each round sends the oldest pending event of every task, so a task's next event is only sent
+        // once the previous one was acknowledged. A failed send releases the rest of that task's events
+        // unsent, to be retried in order with the next batch. Delivery is at-least-once: an event whose
+        // acknowledgement is lost, or whose relay dies before saving the outcome, is sent again.
+        List<Long> published = new ArrayList<>();
+        List<Long> released = new ArrayList<>();
+        while (!pendingByTask.isEmpty()) {
+            List<TaskEventDto> events = new ArrayList<>();
+            Map<TaskEventDto, TaskEventOutbox> rowsByEvent = new IdentityHashMap<>();
+            Iterator<Deque<TaskEventOutbox>> tasks = pendingByTask.values().iterator();
+            while (tasks.hasNext()) {
+                Deque<TaskEventOutbox> pending = tasks.next();
+                TaskEventOutbox row = pending.pollFirst();
+                if (pending.isEmpty()) {
+                    tasks.remove();
+                }
+                TaskEventDto event = read(row);
+                if (event == null) {
+                    published.add(row.getId());
+                    continue;
+                }
+                events.add(event);
+                rowsByEvent.put(event, row);
+            }
+            if (events.isEmpty()) {
+                continue;
+            }
+            TaskEventBatchResult result = taskEventProducer.sendTaskEvents(events).join();
+            result.acknowledged().forEach(event -> published.add(rowsByEvent.get(event).getId()));
+            for (TaskEventDto event : result.failed()) {
+                TaskEventOutbox row = rowsByEvent.get(event);
+                released.add(row.getId());
+                Deque<TaskEventOutbox> held = pendingByTask.remove(row.getTaskId());
+                if (held != null) {
+                    held.forEach(later -> released.add(later.getId()));
+                }
+            }
+        }
+        outboxClaimer.finish(published, released, LocalDateTime.now());
+        log.info("Relayed {} of {} outbox events to Kafka.", published.size(), batch.size());
+    }
+
+    @Scheduled(fixedDelayString = "${task.events.outbox.cleanup-interval-ms:3600000}")
+    @Transactional
+    public void deletePublished() {
+        if (!enabled) {
+            return;
+        }
+        int deleted = outboxRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            log.info("Deleted {} published outbox events.", deleted);
+        }
+    }
+
+    private TaskEventDto read(TaskEventOutbox row) {
+        try {
+            return objectMapper.readValue(row.getPayload(), TaskEventDto.class);
+        } catch (Exception e) {
+            log.error("Skipping unreadable outbox event {} for task {}: {}", row.getId(), row.getTaskId(), e.getMessage());
+            return null;
+        }
+    }
+}
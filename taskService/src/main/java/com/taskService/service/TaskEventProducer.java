@@ -1,11 +1,18 @@
 package com.taskService.service;
 
 import by.info_microservice.core.TaskEventDto;
+import com.taskService.dto.TaskEventBatchResult;
 import com.taskService.exception.TaskEventPublishException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @RequiredArgsConstructor
 public class TaskEventProducer {
@@ -17,4 +24,40 @@ public class TaskEventProducer {
             throw new TaskEventPublishException("Failed to publish task event for taskId=" + event.getTaskId(), e);
         }
     }
+
+    public CompletableFuture<SendResult<String, Object>> sendTaskEventAsync(TaskEventDto event) {
+        try {
+            CompletableFuture<SendResult<String, Object>> future =
+                    kafkaTemplate.send("task-events-topic", event.getTaskId().toString(), event);
+            if (future == null) {
+                throw new IllegalStateException("KafkaTemplate returned no send future");
+            }
+            return future;
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(
+                    new TaskEventPublishException("Failed to publish task event for taskId=" + event.getTaskId(), e));
+        }
+    }
+
+    /**
+     * Hands all events to the producer without blocking and completes once every send has been
+     * acknowledged or has failed; the returned future itself never completes exceptionally.
+     */
+    public CompletableFuture<TaskEventBatchResult> sendTaskEvents(Collection<TaskEventDto> events) {
+        List<TaskEventDto> batch = List.copyOf(events);
+        List<CompletableFuture<SendResult<String, Object>>> sends = batch.stream()
+                .map(this::sendTaskEventAsync)
+                .toList();
+        return CompletableFuture.allOf(sends.stream()
+                        .map(future -> future.exceptionally(ex -> null))
+                        .toArray(CompletableFuture[]::new))
+                .thenApply(done -> {
+                    List<TaskEventDto> acknowledged = new ArrayList<>();
+                    List<TaskEventDto> failed = new ArrayList<>();
+                    for (int i = 0; i < batch.size(); i++) {
+                        (sends.get(i).isCompletedExceptionally() ? failed : acknowledged).add(batch.get(i));
+                    }
+                    return new TaskEventBatchResult(acknowledged, failed);
+                });
+    }
 }
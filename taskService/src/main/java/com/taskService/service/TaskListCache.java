@@ -0,0 +1,58 @@
+package com.taskService.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskService.dto.TaskChangedEvent;
+import com.taskService.dto.TaskResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of task listing pages per user and query shape. A {@link TaskChangedEvent} moves
+ * the user to a new generation, which orphans all of their cached pages at once; orphans leave through
+ * size eviction. Generations are drawn from one counter, so a user whose generation entry was evicted
+ * never gets an old one back, and a page loaded while its user changed is stored under the old one.
+ * Other instances' writes are only seen after {@code task.list-cache.expire-after-write-seconds}.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskListCache {
+    private final Cache<Key, Page<TaskResponseDto>> taskListPages;
+    private final AtomicLong generationSequence = new AtomicLong();
+    private final Cache<Long, Long> generations = Caffeine.newBuilder().maximumSize(100_000).build();
+
+    @Value("${task.list-cache.enabled:false}")
+    private boolean enabled;
+
+    public record Key(Long userId, long generation, String shape) {
+    }
+
+    public Page<TaskResponseDto> get(Long userId, String shape, Supplier<Page<TaskResponseDto>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Key key = new Key(userId, generation(userId), shape);
+        return taskListPages.get(key, k -> loader.get());
+    }
+
+    public void invalidate(Long userId) {
+        generations.put(userId, generationSequence.incrementAndGet());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (enabled) {
+            invalidate(event.userId());
+        }
+    }
+
+    private long generation(Long userId) {
+        return generations.get(userId, id -> generationSequence.incrementAndGet());
+    }
+}
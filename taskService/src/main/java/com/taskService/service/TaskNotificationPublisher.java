@@ -0,0 +1,198 @@
+package com.taskService.service;
+
+import by.info_microservice.core.TaskEventDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskService.dto.UserDto;
+import com.taskService.exception.TaskEventPublishException;
+import com.taskService.exception.TaskNotificationException;
+import com.taskService.model.Task;
+import com.taskService.model.TaskEventOutbox;
+import com.taskService.repository.TaskEventOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class TaskNotificationPublisher {
+    private final TaskEventProducer taskEventProducer;
+    private final TaskEventOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final Semaphore inFlight;
+
+    public TaskNotificationPublisher(TaskEventProducer taskEventProducer,
+                                     TaskEventOutboxRepository outboxRepository,
+                                     ObjectMapper objectMapper,
+                                     @Value("${task.scheduler.max-in-flight:256}") int maxInFlight) {
+        this.taskEventProducer = taskEventProducer;
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    public void send(Task task, UserDto user, String subject, String message) {
+        try {
+            TaskEventDto event = buildEvent(task, user, subject, message);
+            if (event.getChannels().isEmpty()) {
+                log.warn("User {} has no notification channel, task {} skipped", task.getUserId(), task.getId());
+                return;
+            }
+            taskEventProducer.sendTaskEvent(event);
+            log.info("Notification sent: {} → {}", event.getChannels(), subject);
+        } catch (TaskEventPublishException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new TaskNotificationException("Failed to send notification for taskId=" + task.getId(), e);
+        }
+    }
+
+    /**
+     * Sends the event of every task without waiting for each broker ack, keeping at most
+     * {@code task.scheduler.max-in-flight} sends outstanding, and returns the ids of the tasks
+     * whose event was acknowledged. Tasks of users that no longer exist count as handled, like tasks
+     * of users without a channel, so the scan doesn't pick them up again on every run.
+     */
+    public Set<Long> sendAll(List<Task> tasks, Map<Long, UserDto> users, String subject,
+                             Function<Task, String> message) {
+        Map<Long, CompletableFuture<Object>> pending = new HashMap<>();
+        Set<Long> missingUsers = new HashSet<>();
+        for (Task task : tasks) {
+            UserDto user = users.get(task.getUserId());
+            if (user == null) {
+                missingUsers.add(task.getUserId());
+                pending.put(task.getId(), CompletableFuture.completedFuture(null));
+                continue;
+            }
+            TaskEventDto event = buildEvent(task, user, subject, message.apply(task));
+            if (event.getChannels().isEmpty()) {
+                pending.put(task.getId(), CompletableFuture.completedFuture(null));
+                continue;
+            }
+            acquire();
+            pending.put(task.getId(), taskEventProducer.sendTaskEventAsync(event)
+                    .whenComplete((result, ex) -> inFlight.release())
+                    .thenApply(result -> null));
+        }
+        CompletableFuture.allOf(pending.values().stream()
+                .map(future -> future.exceptionally(ex -> null))
+                .toArray(CompletableFuture[]::new)).join();
+        logMissingUsers(missingUsers);
+
+        Set<Long> acked = pending.entrySet().stream()
+                .filter(entry -> !entry.getValue().isCompletedExceptionally())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+        if (acked.size() < tasks.size()) {
+            log.warn("{} of {} notifications were not acknowledged, their tasks are left for the next run.",
+                    tasks.size() - acked.size(), tasks.size());
+        }
+        return acked;
+    }
+
+    /**
+     * Writes the event of every task to the outbox in the caller's transaction and returns the ids
+     * of the tasks that were handled, including those of users that no longer exist.
+     * {@link TaskEventOutboxRelay} publishes them later.
+     */
+    public Set<Long> enqueueAll(List<Task> tasks, Map<Long, UserDto> users, String subject,
+                                Function<Task, String> message) {
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> enqueued = new HashSet<>();
+        Set<Long> missingUsers = new HashSet<>();
+        List<TaskEventOutbox> rows = new ArrayList<>();
+        for (Task task : tasks) {
+            UserDto user = users.get(task.getUserId());
+            if (user == null) {
+                missingUsers.add(task.getUserId());
+                enqueued.add(task.getId());
+                continue;
+            }
+            TaskEventDto event = buildEvent(task, user, subject, message.apply(task));
+            if (!event.getChannels().isEmpty()) {
+                rows.add(TaskEventOutbox.builder()
+                        .taskId(task.getId())
+                        .userId(task.getUserId())
+                        .payload(toJson(event))
+                        .createdAt(now)
+                        .build());
+            }
+            enqueued.add(task.getId());
+        }
+        outboxRepository.saveAll(rows);
+        logMissingUsers(missingUsers);
+        return enqueued;
+    }
+
+    private void logMissingUsers(Set<Long> userIds) {
+        if (!userIds.isEmpty()) {
+            log.warn("Users {} not found, their tasks are marked handled without a notification", userIds);
+        }
+    }
+
+    private String toJson(TaskEventDto event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new TaskNotificationException("Failed to serialize task event for taskId=" + event.getTaskId(), e);
+        }
+    }
+
+    private void acquire() {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TaskNotificationException("Interrupted while waiting for in-flight notifications", e);
+        }
+    }
+
+    private TaskEventDto buildEvent(Task task, UserDto user, String subject, String message) {
+        if (user == null) {
+            throw new TaskNotificationException("User " + task.getUserId() + " not found, notification not sent");
+        }
+        String eventType;
+        if (subject.contains("soon be overdue")) {
+            eventType = "TASK_SOON_OVERDUE";
+        } else if (subject.contains("is overdue")) {
+            eventType = "TASK_OVERDUE";
+        } else {
+            eventType = "TASK_REMINDER";
+        }
+        Set<String> channels = new LinkedHashSet<>(2);
+        if (user.getEmail() != null) {
+            channels.add("EMAIL");
+        }
+        if (user.getTelegramChatId() != null) {
+            channels.add("TELEGRAM");
+        }
+        return TaskEventDto.builder()
+                .taskId(task.getId())
+                .userId(user.getId())
+                .recipient(user.getEmail())
+                .recipientTelegramId(user.getTelegramChatId())
+                .channels(channels)
+                .subject(subject)
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .dueDate(task.getDueDate())
+                .eventType(eventType)
+                .message(message)
+                .createdAt(LocalDateTime.now())
+                .status("PENDING")
+                .build();
+    }
+}
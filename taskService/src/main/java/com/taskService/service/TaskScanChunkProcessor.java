@@ -0,0 +1,198 @@
+package com.taskService.service;
+
+import com.taskService.config.UserServiceClient;
+import com.taskService.dto.TaskChangedEvent;
+import com.taskService.dto.UserDto;
+import com.taskService.exception.TaskNotificationException;
+import com.taskService.model.ScanCursor;
+import com.taskService.model.ScanScope;
+import com.taskService.model.Status;
+import com.taskService.model.Task;
+import com.taskService.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskScanChunkProcessor {
+    private static final String OVERDUE_SUBJECT = "The task is overdue!";
+    private static final String NEARLY_OVERDUE_SUBJECT = "The task will soon be overdue!";
+
+    private final TaskRepository taskRepository;
+    private final UserServiceClient userServiceClient;
+    private final TaskNotificationPublisher notificationPublisher;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${task.scheduler.fanout.pipelined:false}")
+    private boolean pipelined;
+    @Value("${task.events.outbox.enabled:false}")
+    private boolean outboxEnabled;
+
+    @Transactional
+    public List<Task> processOverdueChunk(ScanScope scope, LocalDateTime now, ScanCursor after, int chunkSize) {
+        List<Task> chunk = taskRepository.findOverdueChunk(now, Status.NOT_COMPLETED,
+                scope.shardCount(), scope.shards(), after.dueDate(), after.id(), PageRequest.of(0, chunkSize));
+        if (chunk.isEmpty()) {
+            return chunk;
+        }
+        notifyOverdue(chunk);
+        taskRepository.flushAndClear();
+        return chunk;
+    }
+
+    @Transactional
+    public List<Task> processNearlyOverdueChunk(ScanScope scope, LocalDateTime now, LocalDateTime until,
+                                                ScanCursor after, int chunkSize) {
+        List<Task> chunk = taskRepository.findNearlyOverdueChunk(now, until, Status.NOT_COMPLETED, false,
+                scope.shardCount(), scope.shards(), after.dueDate(), after.id(), PageRequest.of(0, chunkSize));
+        if (chunk.isEmpty()) {
+            return chunk;
+        }
+        notifyNearlyOverdue(chunk);
+        taskRepository.flushAndClear();
+        return chunk;
+    }
+
+    /**
+     * Handles tasks whose due-date timer fired. The row conditions are re-checked under the same
+     * lock as the chunked scan, so a task already handled by the scan or another node is skipped.
+     */
+    @Transactional
+    public List<Task> processOverdueTasks(ScanScope scope, LocalDateTime now, List<Long> ids) {
+        List<Task> tasks = taskRepository.findOverdueByIds(ids, now, Status.NOT_COMPLETED,
+                scope.shardCount(), scope.shards());
+        if (tasks.isEmpty()) {
+            return tasks;
+        }
+        notifyOverdue(tasks);
+        taskRepository.flushAndClear();
+        return tasks;
+    }
+
+    @Transactional
+    public List<Task> processNearlyOverdueTasks(ScanScope scope, LocalDateTime now, LocalDateTime until, List<Long> ids) {
+        List<Task> tasks = taskRepository.findNearlyOverdueByIds(ids, now, until, Status.NOT_COMPLETED, false,
+                scope.shardCount(), scope.shards());
+        if (tasks.isEmpty()) {
+            return tasks;
+        }
+        notifyNearlyOverdue(tasks);
+        taskRepository.flushAndClear();
+        return tasks;
+    }
+
+    private void notifyOverdue(List<Task> chunk) {
+        Map<Long, UserDto> users = loadUsers(chunk);
+        if (outboxEnabled) {
+            Set<Long> enqueued = notificationPublisher.enqueueAll(chunk, users, OVERDUE_SUBJECT, this::overdueMessage);
+            markOverdue(chunk.stream().filter(task -> enqueued.contains(task.getId())).toList());
+        } else if (pipelined) {
+            Set<Long> acked = notificationPublisher.sendAll(chunk, users, OVERDUE_SUBJECT, this::overdueMessage);
+            markOverdue(chunk.stream().filter(task -> acked.contains(task.getId())).toList());
+        } else {
+            markOverdue(chunk);
+            for (Task task : withKnownUser(chunk, users)) {
+                notificationPublisher.send(task, users.get(task.getUserId()), OVERDUE_SUBJECT, overdueMessage(task));
+            }
+        }
+    }
+
+    private void notifyNearlyOverdue(List<Task> chunk) {
+        Map<Long, UserDto> users = loadUsers(chunk);
+        if (outboxEnabled) {
+            Set<Long> enqueued = notificationPublisher.enqueueAll(chunk, users, NEARLY_OVERDUE_SUBJECT, this::nearlyOverdueMessage);
+            markNearlyOverdueNotified(chunk.stream().map(Task::getId).filter(enqueued::contains).toList());
+        } else if (pipelined) {
+            Set<Long> acked = notificationPublisher.sendAll(chunk, users, NEARLY_OVERDUE_SUBJECT, this::nearlyOverdueMessage);
+            markNearlyOverdueNotified(chunk.stream().map(Task::getId).filter(acked::contains).toList());
+        } else {
+            markNearlyOverdueNotified(chunk.stream().map(Task::getId).toList());
+            for (Task task : withKnownUser(chunk, users)) {
+                notificationPublisher.send(task, users.get(task.getUserId()), NEARLY_OVERDUE_SUBJECT, nearlyOverdueMessage(task));
+            }
+        }
+    }
+
+    // tasks of deleted users are marked handled with the rest of the chunk but not sent; failing the chunk
+    // would roll it back and re-notify every other task in it on each run
+    private List<Task> withKnownUser(List<Task> chunk, Map<Long, UserDto> users) {
+        Set<Long> missing = chunk.stream()
+                .map(Task::getUserId)
+                .filter(userId -> !users.containsKey(userId))
+                .collect(Collectors.toSet());
+        if (missing.isEmpty()) {
+            return chunk;
+        }
+        log.warn("Users {} not found, their tasks are marked handled without a notification", missing);
+        return chunk.stream().filter(task -> !missing.contains(task.getUserId())).toList();
+    }
+
+    private void markOverdue(List<Task> tasks) {
+        List<Long> ids = tasks.stream().filter(task -> !task.isRepeat()).map(Task::getId).toList();
+        if (!ids.isEmpty()) {
+            int updated = taskRepository.updateStatusByIds(ids, Status.NOT_COMPLETED, Status.OVERDUE);
+            if (updated != ids.size()) {
+                log.warn("Expected to mark {} tasks OVERDUE, but {} rows were updated.", ids.size(), updated);
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (Task task : tasks) {
+            if (task.isRepeat()) {
+                advanceOccurrence(task, now);
+            } else {
+                eventPublisher.publishEvent(TaskChangedEvent.withStatus(task, Status.OVERDUE));
+            }
+        }
+    }
+
+    // a missed occurrence isn't materialized, the series row just moves on to its next occurrence;
+    // the loaded entity is left as is since the scan cursor is taken from it
+    private void advanceOccurrence(Task task, LocalDateTime now) {
+        LocalDateTime anchor = task.getRecurrenceAnchor() != null ? task.getRecurrenceAnchor() : task.getDueDate();
+        LocalDateTime next = Recurrence.next(anchor, task.getFrequencyRepeat(), now);
+        if (taskRepository.advanceOccurrence(task.getId(), anchor, next, Status.NOT_COMPLETED) == 0) {
+            log.warn("Repeating task ID {} changed concurrently, it was not moved to its next occurrence.", task.getId());
+            return;
+        }
+        eventPublisher.publishEvent(TaskChangedEvent.rescheduled(task, next));
+    }
+
+    private void markNearlyOverdueNotified(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        int updated = taskRepository.markNearlyOverdueNotified(ids);
+        if (updated != ids.size()) {
+            log.warn("Expected to flag {} tasks as nearly overdue, but {} rows were updated.", ids.size(), updated);
+        }
+    }
+
+    private String overdueMessage(Task task) {
+        return "You have not completed the task " + task.getTitle() + ". Please complete it as soon as possible!";
+    }
+
+    private String nearlyOverdueMessage(Task task) {
+        return "Less than 15 minutes left until the deadline for the task: " + task.getTitle() + ". Hurry up!";
+    }
+
+    private Map<Long, UserDto> loadUsers(List<Task> chunk) {
+        Set<Long> userIds = chunk.stream().map(Task::getUserId).collect(Collectors.toSet());
+        try {
+            return userServiceClient.getUsersByIds(userIds);
+        } catch (Exception e) {
+            throw new TaskNotificationException("Failed to load recipients for " + userIds.size() + " users", e);
+        }
+    }
+}
@@ -8,9 +8,14 @@ import com.taskService.model.Task;
 import com.taskService.repository.TaskRepository;
 import jakarta.validation.constraints.NotBlank;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.mapping.PropertyPath;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,13 +26,39 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
     @Slf4j
 @Service
 @RequiredArgsConstructor
 public class TaskService {
+    private static final String FULLTEXT_SEARCH = "fulltext";
+    private static final Pattern SEARCH_TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MAX_SEARCH_TERMS = 10;
+
     private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskListCache taskListCache;
+    @Value("${task.search.mode:like}")
+    private String searchMode;
+    @Value("${task.search.fulltext.min-token-size:3}")
+    private int minTokenSize = 3;
+    @Value("${task.bulk.flush-size:500}")
+    private int bulkFlushSize = 500;
+    @Value("${task.filter.export.fetch-size:500}")
+    private int exportFetchSize = 500;
+    @Value("${task.occurrences.max-window:1000}")
+    private int maxOccurrences = 1000;
     private TaskResponseDto convertToDto(Task task) {
         return new TaskResponseDto(
                 task.getId(),
@@ -42,15 +73,59 @@ public class TaskService {
                 task.getFrequencyRepeat()
         );
     }
+    // cached listings are not @Transactional, so a cache hit doesn't take a connection
+    public Page<TaskResponseDto> getAllTasks(Long userId, Pageable pageable, boolean includeDescription) {
+        checkSort(pageable.getSort());
+        return taskListCache.get(userId, listShape(includeDescription ? "all" : "all-summary", pageable),
+                () -> includeDescription
+                        ? taskRepository.findDtoByUserId(userId, pageable)
+                        : taskRepository.findSummaryByUserId(userId, pageable));
+    }
     @Transactional(readOnly = true)
-    public Page<TaskResponseDto> getAllTasks(Long userId, Pageable pageable) {
-        Page<Task> tasks = taskRepository.findAllByUserId(userId, pageable);
-        return tasks.map(this::convertToDto);
+    public CursorPageResponseDto<TaskResponseDto> getAllTasksAfter(Long userId, Sort sort, String cursor,
+                                                                   int size, boolean withCount) {
+        Sort keyset = TaskCursor.withTiebreaker(sort);
+        List<String> after = cursor == null || cursor.isBlank() ? null : TaskCursor.decode(cursor, keyset);
+        List<TaskResponseDto> tasks = taskRepository.findPageAfter(byUserId(userId), keyset, after, size + 1);
+        boolean hasNext = tasks.size() > size;
+        List<TaskResponseDto> content = hasNext ? tasks.subList(0, size) : tasks;
+        return CursorPageResponseDto.<TaskResponseDto>builder()
+                .content(content)
+                .nextCursor(hasNext ? TaskCursor.encode(keyset, content.get(content.size() - 1)) : null)
+                .hasNext(hasNext)
+                .size(size)
+                .totalElements(withCount ? taskRepository.countByUserId(userId) : null)
+                .build();
     }
     @Transactional(readOnly = true)
     public Page<TaskResponseDto> searchTasks(Long userId, String keyword, Pageable pageable) {
-        Page<Task> tasks = taskRepository.searchByKeyword(userId, keyword, pageable);
-        return tasks.map(this::convertToDto);
+        if (FULLTEXT_SEARCH.equalsIgnoreCase(searchMode)) {
+            String query = toBooleanQuery(keyword);
+            if (!query.isEmpty()) {
+                // full-text results are ordered by relevance, not by the requested sort
+                return taskRepository.searchByFullText(userId, query,
+                        PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+            }
+        }
+        checkSort(pageable.getSort());
+        return taskRepository.searchByKeyword(userId, keyword, pageable);
+    }
+
+    /**
+     * Turns free text into a MySQL boolean-mode query where every word is required and matched as
+     * a prefix. Words shorter than the server's full-text token size can't be matched by the index,
+     * so an empty result means the caller should fall back to the LIKE search.
+     */
+    String toBooleanQuery(String keyword) {
+        if (keyword == null) {
+            return "";
+        }
+        return Arrays.stream(SEARCH_TOKEN_SEPARATOR.split(keyword.toLowerCase(Locale.ROOT)))
+                .filter(term -> term.length() >= minTokenSize)
+                .distinct()
+                .limit(MAX_SEARCH_TERMS)
+                .map(term -> "+" + term + "*")
+                .collect(Collectors.joining(" "));
     }
     @Transactional(readOnly = true)
     public TaskResponseDto getTaskById(Long taskId, Long userId) {
@@ -64,6 +139,35 @@ public class TaskService {
 
     @Transactional
     public TaskResponseDto createTask(TaskRequestDto requestDto, Long userId) {
+        if(requestDto.getDueDate() == null && requestDto.isRepeat()) {
+            throw new IllegalArgumentException ("You cannot create a repeat if dueDate is not set");
+        }
+        Task savedTask = persistNewTask(requestDto, userId);
+        eventPublisher.publishEvent(TaskChangedEvent.of(savedTask));
+        return convertToDto(savedTask);
+    }
+    @Transactional
+    public List<TaskResponseDto> createTasksBulk(List<TaskRequestDto> requests, Long userId) {
+        for (int i = 0; i < requests.size(); i++) {
+            TaskRequestDto requestDto = requests.get(i);
+            if (requestDto.getDueDate() == null && requestDto.isRepeat()) {
+                throw new IllegalArgumentException("Task " + i + ": you cannot create a repeat if dueDate is not set");
+            }
+        }
+        List<Task> savedTasks = new ArrayList<>(requests.size());
+        for (TaskRequestDto requestDto : requests) {
+            savedTasks.add(persistNewTask(requestDto, userId));
+            // keeps the persistence context small; the inserts go out in JDBC batches
+            if (savedTasks.size() % bulkFlushSize == 0) {
+                taskRepository.flushAndClear();
+            }
+        }
+        taskRepository.flush();
+        savedTasks.forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.of(task)));
+        return savedTasks.stream().map(this::convertToDto).toList();
+    }
+    // ids come from the pooled sequence on persist, so a series root can point at itself without another save()
+    private Task persistNewTask(TaskRequestDto requestDto, Long userId) {
         Task task = Task.builder()
                 .userId(userId)
                 .title(requestDto.getTitle())
@@ -74,17 +178,13 @@ public class TaskService {
                 .priority(requestDto.getPriority())
                 .isRepeat(requestDto.isRepeat())
                 .frequencyRepeat(requestDto.getFrequency_repeat())
+                .recurrenceAnchor(requestDto.isRepeat() ? requestDto.getDueDate() : null)
                 .build();
-        if(requestDto.getDueDate() == null && requestDto.isRepeat()) {
-            throw new IllegalArgumentException ("You cannot create a repeat if dueDate is not set");
-        }
         Task savedTask = taskRepository.save(task);
-
         if (savedTask.isRepeat() && savedTask.getParentTaskId() == null) {
             savedTask.setParentTaskId(savedTask.getId());
-            savedTask = taskRepository.save(savedTask);
         }
-        return convertToDto(savedTask);
+        return savedTask;
     }
 
     public TaskResponseDto updateTask(Long taskId, UpdateTaskRequestDto dto, Long userId) {
@@ -102,20 +202,145 @@ public class TaskService {
         if(dto.getDueDate() != null) existTask.setDueDate(dto.getDueDate());
         if(dto.isRepeat()) existTask.setRepeat(dto.isRepeat());
         if(dto.getFrequency_repeat() != null) existTask.setFrequencyRepeat(dto.getFrequency_repeat());
+        if (existTask.isRepeat() && (dto.getDueDate() != null || dto.getFrequency_repeat() != null)) {
+            existTask.setRecurrenceAnchor(existTask.getDueDate());
+        }
         Task savedTask = taskRepository.save(existTask);
+        eventPublisher.publishEvent(TaskChangedEvent.of(savedTask));
 
         return convertToDto(savedTask);
     }
+    @Transactional
     public TaskResponseDto updateStatus(Long taskId, UpdateStatusRequestDto dto, Long userId) {
         Task existTask = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
         if (!existTask.getUserId().equals(userId)) {
             throw new AccessDeniedException("You don't have permission to update this task");
         }
+        if (completesOccurrence(existTask, dto.getStatus())) {
+            Task occurrence = completeOccurrence(existTask);
+            eventPublisher.publishEvent(TaskChangedEvent.of(occurrence));
+            eventPublisher.publishEvent(TaskChangedEvent.of(existTask));
+            return convertToDto(occurrence);
+        }
         existTask.setStatus(dto.getStatus());
         Task savedTask = taskRepository.save(existTask);
+        eventPublisher.publishEvent(TaskChangedEvent.of(savedTask));
         return convertToDto(savedTask);
     }
+    @Transactional
+    public List<TaskResponseDto> updateStatusBulk(List<Long> taskIds, Status status, Long userId) {
+        Set<Long> ids = new LinkedHashSet<>(taskIds);
+        List<Task> tasks = taskRepository.findAllById(ids);
+        if (tasks.size() != ids.size()) {
+            tasks.forEach(task -> ids.remove(task.getId()));
+            throw new ResourceNotFoundException("Tasks not found with ids: " + ids);
+        }
+        for (Task task : tasks) {
+            if (!task.getUserId().equals(userId)) {
+                throw new AccessDeniedException("You don't have permission to update these tasks");
+            }
+        }
+        List<Task> updated = new ArrayList<>(tasks.size());
+        List<Task> rescheduled = new ArrayList<>();
+        for (Task task : tasks) {
+            if (completesOccurrence(task, status)) {
+                updated.add(completeOccurrence(task));
+                rescheduled.add(task);
+            } else {
+                task.setStatus(status);
+                updated.add(task);
+            }
+        }
+        taskRepository.flush();
+        updated.forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.of(task)));
+        rescheduled.forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.of(task)));
+        return updated.stream().map(this::convertToDto).toList();
+    }
+    private boolean completesOccurrence(Task task, Status status) {
+        return status == Status.COMPLETED && task.isRepeat()
+                && task.getStatus() == Status.NOT_COMPLETED && task.getDueDate() != null;
+    }
+
+    // completing a repeating task materializes its current occurrence, the series row moves on to the next one
+    private Task completeOccurrence(Task series) {
+        Long groupId = series.getParentTaskId() != null ? series.getParentTaskId() : series.getId();
+        Task occurrence = taskRepository.save(Task.builder()
+                .userId(series.getUserId())
+                .title(series.getTitle())
+                .description(series.getDescription())
+                .date(LocalDateTime.now())
+                .dueDate(series.getDueDate())
+                .status(Status.COMPLETED)
+                .priority(series.getPriority())
+                .nearlyOverdueNotified(series.isNearlyOverdueNotified())
+                .isRepeat(false)
+                .parentTaskId(groupId)
+                .build());
+        LocalDateTime anchor = series.getRecurrenceAnchor() != null ? series.getRecurrenceAnchor() : series.getDueDate();
+        series.setRecurrenceAnchor(anchor);
+        series.setDueDate(Recurrence.next(anchor, series.getFrequencyRepeat(), series.getDueDate()));
+        series.setNearlyOverdueNotified(false);
+        taskRepository.save(series);
+        return occurrence;
+    }
+
+    /**
+     * Lists the occurrences of the series {@code taskId} belongs to within {@code [from, to]}. Occurrences
+     * without a row of their own are computed from the recurrence rule; the ones before the current
+     * occurrence were missed and are reported as OVERDUE.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskOccurrenceDto> getOccurrences(Long taskId, Long userId, LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+        if (!task.getUserId().equals(userId)) {
+            throw new AccessDeniedException("You don't have permission to view this task");
+        }
+        Long groupId = task.getParentTaskId() != null ? task.getParentTaskId() : task.getId();
+        Task rule = taskRepository.findSeriesRules(groupId, userId, PageRequest.of(0, 1)).stream()
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Task " + taskId + " is not part of a repeat series"));
+        LocalDateTime anchor = rule.getRecurrenceAnchor() != null ? rule.getRecurrenceAnchor() : rule.getDueDate();
+        List<LocalDateTime> dueDates = Recurrence.between(anchor, rule.getFrequencyRepeat(), from, to, maxOccurrences + 1);
+        if (dueDates.size() > maxOccurrences) {
+            throw new IllegalArgumentException("The window holds more than " + maxOccurrences + " occurrences");
+        }
+        Map<LocalDateTime, TaskOccurrenceDto> occurrences = new TreeMap<>();
+        for (LocalDateTime dueDate : dueDates) {
+            if (dueDate.equals(rule.getDueDate())) {
+                occurrences.put(dueDate, toOccurrence(groupId, rule));
+                continue;
+            }
+            occurrences.put(dueDate, TaskOccurrenceDto.builder()
+                    .seriesId(groupId)
+                    .title(rule.getTitle())
+                    .priority(rule.getPriority())
+                    .dueDate(dueDate)
+                    .status(dueDate.isBefore(rule.getDueDate()) ? Status.OVERDUE : Status.NOT_COMPLETED)
+                    .materialized(false)
+                    .build());
+        }
+        for (Task occurrence : taskRepository.findMaterializedOccurrences(groupId, userId, rule.getId(), from, to)) {
+            occurrences.put(occurrence.getDueDate(), toOccurrence(groupId, occurrence));
+        }
+        return List.copyOf(occurrences.values());
+    }
+
+    private TaskOccurrenceDto toOccurrence(Long groupId, Task task) {
+        return TaskOccurrenceDto.builder()
+                .seriesId(groupId)
+                .taskId(task.getId())
+                .title(task.getTitle())
+                .priority(task.getPriority())
+                .dueDate(task.getDueDate())
+                .status(task.getStatus())
+                .materialized(true)
+                .build();
+    }
     public TaskResponseDto updatePriority(Long taskId, UpdatePriorityRequestDto dto, Long userId) {
         Task existTask = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
@@ -124,6 +349,7 @@ public class TaskService {
         }
         existTask.setPriority(dto.getPriority());
         Task savedTask = taskRepository.save(existTask);
+        eventPublisher.publishEvent(TaskChangedEvent.of(savedTask));
         return convertToDto(savedTask);
     }
     @Transactional
@@ -138,43 +364,42 @@ public class TaskService {
         }
         task.setStatus(Status.ARCHIVED);
         Task savedTask = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.of(savedTask));
         return convertToDto(savedTask);
 
     }
     @Transactional
     public List<TaskResponseDto> archiveTaskSeries(Long taskId, Long userId) {
+        SeriesSummaryDto summary = archiveTaskSeriesSummary(taskId, userId);
+        List<TaskResponseDto> seriesTasks = taskRepository.findRepeatGroupDtos(summary.getSeriesId(), userId);
+        if (seriesTasks.isEmpty()) {
+            throw new ResourceNotFoundException("No tasks found in the repeat series with ID: " + summary.getSeriesId());
+        }
+        return seriesTasks;
+    }
+    @Transactional
+    public SeriesSummaryDto archiveTaskSeriesSummary(Long taskId, Long userId) {
         Task currentTask = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
         if (!currentTask.getUserId().equals(userId)) {
             throw new SecurityException("Cannot archive task of another user");
         }
         Long groupId = currentTask.getParentTaskId() != null ? currentTask.getParentTaskId() : currentTask.getId();
-
-        List<Task> seriesTasks = taskRepository.findRepeatGroupTasks(groupId, userId);
-
-        if (seriesTasks.isEmpty()) {
-            throw new ResourceNotFoundException("No tasks found in the repeat series with ID: " + groupId);
-        }
-        List<Task> updatedTasks = seriesTasks.stream()
-                .peek(task -> task.setStatus(Status.ARCHIVED))
-                .collect(Collectors.toList());
-
-        List<Task> savedTasks = taskRepository.saveAll(updatedTasks);
-
-        return savedTasks.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-
+        int archived = taskRepository.updateRepeatGroupStatus(groupId, userId, Status.ARCHIVED);
+        // one event per series: listing caches are per user, and due timers of the other
+        // occurrences re-check the status under lock before they notify
+        eventPublisher.publishEvent(TaskChangedEvent.withStatus(currentTask, Status.ARCHIVED));
+        return new SeriesSummaryDto(groupId, archived);
     }
-    @Transactional(readOnly = true)
     public Page<TaskResponseDto> getArchivedTasks(Long userId, Pageable pageable) {
-        return taskRepository.findAllByUserIdAndStatus(userId,Status.ARCHIVED,pageable)
-                .map(this::convertToDto);
+        checkSort(pageable.getSort());
+        return taskListCache.get(userId, listShape("archived", pageable),
+                () -> taskRepository.findDtoByUserIdAndStatus(userId, Status.ARCHIVED, pageable));
     }
     @Transactional(readOnly = true)
     public Page<TaskResponseDto> getActivedTasks(Long userId, Pageable pageable) {
-        return taskRepository.findAllByUserIdAndStatusNot(userId,Status.ARCHIVED,pageable)
-                .map(this::convertToDto);
+        checkSort(pageable.getSort());
+        return taskRepository.findDtoByUserIdAndStatusNot(userId, Status.ARCHIVED, pageable);
     }
 
 
@@ -191,30 +416,30 @@ public class TaskService {
             throw new IllegalStateException("Only archived tasks can be permanently deleted");
         }
         taskRepository.delete(task);
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(task));
 
     }
-        @Transactional
-        public void deleteRepeatTaskSeries(Long taskId, Long userId) {
-            Task currentTask = taskRepository.findById(taskId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
-
-            if (!currentTask.getUserId().equals(userId)) {
-                throw new AccessDeniedException("You don't have permission to delete this task");
-            }
-            Long groupId = currentTask.getParentTaskId() != null ? currentTask.getParentTaskId() : currentTask.getId();
+    @Transactional
+    public SeriesSummaryDto deleteRepeatTaskSeries(Long taskId, Long userId) {
+        Task currentTask = taskRepository.findById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
 
-            List<Task> seriesTasks = taskRepository.findRepeatGroupTasks(groupId, userId);
-            if (seriesTasks.isEmpty()) {
-                throw new ResourceNotFoundException("Repeat series not found.");
-            }
-            boolean allArchived = seriesTasks.stream()
-                    .allMatch(t -> t.getStatus() == Status.ARCHIVED);
-            if (!allArchived) {
-                throw new IllegalStateException("Only fully archived series can be permanently deleted.");
-            }
-            taskRepository.deleteAllInBatch(seriesTasks);
+        if (!currentTask.getUserId().equals(userId)) {
+            throw new AccessDeniedException("You don't have permission to delete this task");
+        }
+        Long groupId = currentTask.getParentTaskId() != null ? currentTask.getParentTaskId() : currentTask.getId();
 
+        List<Task> series = taskRepository.lockRepeatGroup(groupId, userId);
+        if (series.isEmpty()) {
+            throw new ResourceNotFoundException("Repeat series not found.");
+        }
+        if (series.stream().anyMatch(task -> task.getStatus() != Status.ARCHIVED)) {
+            throw new IllegalStateException("Only fully archived series can be permanently deleted.");
         }
+        int deleted = taskRepository.deleteRepeatGroupInStatus(groupId, userId, Status.ARCHIVED);
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(currentTask));
+        return new SeriesSummaryDto(groupId, deleted);
+    }
     @Transactional
     public void deleteTasksBulk(List<Long> taskIds, Long userId) {
         if (taskIds == null || taskIds.isEmpty()) {
@@ -233,8 +458,52 @@ public class TaskService {
             }
         });
         taskRepository.deleteAllInBatch(tasks);
+        tasks.forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.deleted(task)));
     }
     public List<TaskResponseDto> filterTasks(Long userId, Status status, LocalDate fromDate, LocalDate toDate, Priority priority) {
+        return taskRepository.findDtoBy(filterSpec(userId, status, fromDate, toDate, priority), Sort.unsorted());
+    }
+    @Transactional(readOnly = true)
+    public Page<TaskResponseDto> filterTasksPage(Long userId, Status status, LocalDate fromDate, LocalDate toDate,
+                                                 Priority priority, int page, int size) {
+        return taskRepository.findDtoBy(filterSpec(userId, status, fromDate, toDate, priority),
+                PageRequest.of(page, size, Sort.by("id")));
+    }
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<TaskResponseDto> filterTasksAfter(Long userId, Status status, LocalDate fromDate,
+                                                                   LocalDate toDate, Priority priority,
+                                                                   String cursor, int size) {
+        Specification<Task> spec = filterSpec(userId, status, fromDate, toDate, priority);
+        if (cursor != null && !cursor.isBlank()) {
+            spec = spec.and(byIdAfter(TaskCursor.decode(cursor)));
+        }
+        // one extra row tells whether another page follows, without a COUNT query
+        List<TaskResponseDto> tasks = taskRepository.findDtoBy(spec, Sort.by("id"), size + 1);
+        boolean hasNext = tasks.size() > size;
+        List<TaskResponseDto> content = hasNext ? tasks.subList(0, size) : tasks;
+        return CursorPageResponseDto.<TaskResponseDto>builder()
+                .content(content)
+                .nextCursor(hasNext ? TaskCursor.encode(content.get(content.size() - 1).getId()) : null)
+                .hasNext(hasNext)
+                .size(size)
+                .build();
+    }
+    @Transactional(readOnly = true)
+    public void exportFilteredTasks(Long userId, Status status, LocalDate fromDate, LocalDate toDate,
+                                    Priority priority, Consumer<TaskResponseDto> sink) {
+        try (Stream<TaskResponseDto> tasks = taskRepository.streamDtoBy(
+                filterSpec(userId, status, fromDate, toDate, priority), Sort.by("id"), exportFetchSize)) {
+            tasks.forEach(sink);
+        }
+    }
+    private String listShape(String listing, Pageable pageable) {
+        return listing + "|" + pageable.getPageNumber() + "|" + pageable.getPageSize() + "|" + pageable.getSort();
+    }
+    // @Query sorting is appended to the JPQL unchecked; fail with the same 400 the derived queries gave
+    private void checkSort(Sort sort) {
+        sort.forEach(order -> PropertyPath.from(order.getProperty(), Task.class));
+    }
+    private Specification<Task> filterSpec(Long userId, Status status, LocalDate fromDate, LocalDate toDate, Priority priority) {
         Specification<Task> spec = Specification.where(byUserId(userId));
         if (status != null) {
             spec = spec.and(byStatus(status));
@@ -249,10 +518,10 @@ public class TaskService {
         } else if (toDate != null) {
             spec = spec.and(byDateTo(toDate));
         }
-
-        return taskRepository.findAll(spec).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return spec;
+    }
+    private Specification<Task> byIdAfter(long id) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), id);
     }
     private Specification<Task> byUserId(Long userId) {
         return (root, query, cb) -> cb.equal(root.get("userId"), userId);
@@ -0,0 +1,82 @@
+package com.taskService.service;
+
+import com.taskService.model.TaskSortKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Turns {@code sort=property,(asc|desc)} request parameters into a {@link Sort} that matches one of
+ * the V5 indexes: one allow-listed {@link TaskSortKey} followed by an id tiebreaker in the same direction,
+ * so the order is total. Counts the plans used per listing.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskSortResolver {
+    private static final TaskSortKey DEFAULT_KEY = TaskSortKey.DUE_DATE;
+
+    private final MeterRegistry meterRegistry;
+
+    public Sort resolve(List<String> sortParams, String listing, boolean keyset) {
+        List<String> specs = normalize(sortParams);
+        TaskSortKey key = DEFAULT_KEY;
+        Sort.Direction direction = Sort.Direction.ASC;
+        if (!specs.isEmpty()) {
+            String[] parts = specs.get(0).split(",");
+            String property = parts[0].trim();
+            key = TaskSortKey.fromProperty(property)
+                    .orElseThrow(() -> new IllegalArgumentException("Unsupported sort property '" + property
+                            + "', expected one of " + Arrays.stream(TaskSortKey.values())
+                            .map(TaskSortKey::property).collect(Collectors.joining(", "))));
+            direction = parts.length > 1 ? parseDirection(parts[1]) : Sort.Direction.ASC;
+            // an explicit trailing id is the tiebreaker we add anyway
+            boolean trailingId = specs.size() == 2 && key != TaskSortKey.ID
+                    && specs.get(1).split(",")[0].trim().equalsIgnoreCase(TaskSortKey.ID.property());
+            if (specs.size() > 2 || (specs.size() == 2 && !trailingId)) {
+                throw new IllegalArgumentException("Only one sort property is supported");
+            }
+        }
+        if (keyset && !key.supportsKeyset()) {
+            throw new IllegalArgumentException("Sorting by " + key.property() + " is not supported with mode=cursor");
+        }
+        Counter.builder("task.list.sort")
+                .description("Task listing requests per sort plan")
+                .tag("listing", listing)
+                .tag("key", key.property())
+                .tag("direction", direction.name().toLowerCase(Locale.ROOT))
+                .tag("index", key.index())
+                .tag("mode", keyset ? "cursor" : "page")
+                .register(meterRegistry)
+                .increment();
+        Sort sort = Sort.by(direction, key.property());
+        return key == TaskSortKey.ID ? sort : sort.and(Sort.by(direction, TaskSortKey.ID.property()));
+    }
+
+    // accepts both sort=dueDate,desc and sort=dueDate&sort=desc
+    private List<String> normalize(List<String> sortParams) {
+        if (sortParams == null) {
+            return List.of();
+        }
+        if (sortParams.size() == 2
+                && !sortParams.get(0).contains(",")
+                && (sortParams.get(1).equalsIgnoreCase("asc") || sortParams.get(1).equalsIgnoreCase("desc"))) {
+            return List.of(sortParams.get(0) + "," + sortParams.get(1));
+        }
+        return sortParams.stream().filter(s -> !s.isBlank()).toList();
+    }
+
+    private Sort.Direction parseDirection(String direction) {
+        return switch (direction.trim().toLowerCase(Locale.ROOT)) {
+            case "asc" -> Sort.Direction.ASC;
+            case "desc" -> Sort.Direction.DESC;
+            default -> throw new IllegalArgumentException("Unsupported sort direction '" + direction.trim() + "'");
+        };
+    }
+}
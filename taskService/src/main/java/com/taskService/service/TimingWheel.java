@@ -0,0 +1,133 @@
+package com.taskService.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hierarchical timing wheel keyed by {@code K}. Level {@code n} has {@code wheelSize} slots of
+ * {@code tickMs * wheelSize^n} each; timers in a higher level are cascaded down when the lower
+ * levels wrap around, so scheduling, cancelling and expiring are O(1) per timer.
+ * Timers further away than the top level can cover are rejected.
+ */
+class TimingWheel<K> {
+    private final long tickMs;
+    private final int wheelSize;
+    private final int levels;
+    private final List<List<Set<K>>> slots;
+    private final Map<K, Timer> timers = new HashMap<>();
+    private long currentTick;
+
+    private record Timer(long deadlineTick, int level, int slot) {
+    }
+
+    TimingWheel(long tickMs, int wheelSize, int levels, long startMs) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.levels = levels;
+        this.slots = new ArrayList<>(levels);
+        for (int level = 0; level < levels; level++) {
+            List<Set<K>> wheel = new ArrayList<>(wheelSize);
+            for (int slot = 0; slot < wheelSize; slot++) {
+                wheel.add(new LinkedHashSet<>());
+            }
+            slots.add(wheel);
+        }
+        this.currentTick = startMs / tickMs;
+    }
+
+    long spanMs() {
+        return tickMs * span(levels);
+    }
+
+    /**
+     * Schedules {@code key} to expire on the first tick after {@code deadlineMs}, replacing any
+     * timer already registered for it. Returns {@code false} if the deadline has already passed or
+     * lies beyond {@link #spanMs()}; the key is not scheduled in that case.
+     */
+    synchronized boolean schedule(K key, long deadlineMs) {
+        cancel(key);
+        return place(key, deadlineMs / tickMs + 1);
+    }
+
+    synchronized boolean cancel(K key) {
+        Timer timer = timers.remove(key);
+        if (timer == null) {
+            return false;
+        }
+        slots.get(timer.level()).get(timer.slot()).remove(key);
+        return true;
+    }
+
+    synchronized int size() {
+        return timers.size();
+    }
+
+    synchronized void clear() {
+        timers.clear();
+        slots.forEach(wheel -> wheel.forEach(Set::clear));
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMs} and returns the keys whose deadline passed,
+     * in expiry order.
+     */
+    synchronized List<K> advance(long nowMs) {
+        long targetTick = nowMs / tickMs;
+        List<K> expired = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = levels - 1; level > 0; level--) {
+                if (currentTick % span(level) == 0) {
+                    Set<K> bucket = slots.get(level).get(slotIndex(currentTick, level));
+                    List<K> cascaded = new ArrayList<>(bucket);
+                    bucket.clear();
+                    for (K key : cascaded) {
+                        Timer timer = timers.remove(key);
+                        if (!place(key, timer.deadlineTick())) {
+                            expired.add(key);
+                        }
+                    }
+                }
+            }
+            Set<K> bucket = slots.get(0).get(slotIndex(currentTick, 0));
+            for (K key : bucket) {
+                timers.remove(key);
+                expired.add(key);
+            }
+            bucket.clear();
+        }
+        return expired;
+    }
+
+    private boolean place(K key, long deadlineTick) {
+        long delta = deadlineTick - currentTick;
+        if (delta <= 0) {
+            return false;
+        }
+        for (int level = 0; level < levels; level++) {
+            if (delta < span(level + 1)) {
+                int slot = slotIndex(deadlineTick, level);
+                slots.get(level).get(slot).add(key);
+                timers.put(key, new Timer(deadlineTick, level, slot));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long span(int level) {
+        long span = 1;
+        for (int i = 0; i < level; i++) {
+            span *= wheelSize;
+        }
+        return span;
+    }
+
+    private int slotIndex(long tick, int level) {
+        return (int) ((tick / span(level)) % wheelSize);
+    }
+}
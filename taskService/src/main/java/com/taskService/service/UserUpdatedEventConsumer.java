@@ -0,0 +1,24 @@
+package com.taskService.service;
+
+import by.info_microservice.core.UserUpdatedEventDto;
+import com.taskService.config.UserServiceClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserUpdatedEventConsumer {
+    private final UserServiceClient userServiceClient;
+
+    // Every instance keeps its own cache, so each one needs its own consumer group to see every event.
+    @KafkaListener(topics = "user-updated-events",
+            groupId = "task-service-user-cache-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void consume(UserUpdatedEventDto event) {
+        log.debug("Evicting cached user {} after {}", event.getUserId(), event.getEventType());
+        userServiceClient.evict(event.getUserId());
+    }
+}
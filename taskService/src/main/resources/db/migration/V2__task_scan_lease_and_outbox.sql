@@ -0,0 +1,25 @@
+-- Sharded scheduler scans: one lease row per shard, one heartbeat row per live scheduler instance
+CREATE TABLE IF NOT EXISTS task_scan_lease (
+    shard_id INT NOT NULL,
+    owner VARCHAR(100) NULL,
+    expires_at DATETIME NULL,
+    PRIMARY KEY (shard_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS task_scan_node (
+    node_id VARCHAR(100) NOT NULL,
+    heartbeat_at DATETIME NOT NULL,
+    PRIMARY KEY (node_id)
+) ENGINE = InnoDB;
+
+-- Transactional outbox: task events are written with the task change and relayed to Kafka afterwards
+CREATE TABLE IF NOT EXISTS task_event_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    task_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    payload TEXT NOT NULL,
+    created_at DATETIME NOT NULL,
+    published_at DATETIME NULL,
+    PRIMARY KEY (id),
+    INDEX idx_task_event_outbox_published_at (published_at, id)
+) ENGINE = InnoDB;
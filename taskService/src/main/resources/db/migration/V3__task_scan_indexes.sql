@@ -0,0 +1,9 @@
+-- Scheduler scans: overdue / due-date loader and nearly-overdue window
+CREATE INDEX idx_task_status_due_date ON task (status, due_date);
+CREATE INDEX idx_task_status_notified_due_date ON task (status, nearly_overdue_notified, due_date);
+
+-- Per-user listings filtered by status and ordered by due date
+CREATE INDEX idx_task_user_status_due_date ON task (user_id, status, due_date);
+
+-- Repeat series lookups
+CREATE INDEX idx_task_parent_task_id ON task (parent_task_id);
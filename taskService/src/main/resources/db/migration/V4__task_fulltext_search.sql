@@ -0,0 +1,3 @@
+-- Keyword search: MATCH(title, description) filters, MATCH(title) boosts title hits in the ranking
+ALTER TABLE task ADD FULLTEXT INDEX ft_task_title_description (title, description);
+ALTER TABLE task ADD FULLTEXT INDEX ft_task_title (title);
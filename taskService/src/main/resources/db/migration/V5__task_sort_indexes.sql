@@ -0,0 +1,6 @@
+-- Per-user listings, one index per allow-listed sort key (TaskSortKey). InnoDB appends the primary
+-- key to every secondary index, so ORDER BY <key>, id is read from the index in either direction.
+CREATE INDEX idx_task_user_due_date ON task (user_id, due_date);
+CREATE INDEX idx_task_user_date ON task (user_id, date);
+CREATE INDEX idx_task_user_title ON task (user_id, title);
+CREATE INDEX idx_task_user_priority ON task (user_id, priority);
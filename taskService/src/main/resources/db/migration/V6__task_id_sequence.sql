@@ -0,0 +1,7 @@
+-- Task ids come from the pooled generator task_seq (allocationSize 50) so Hibernate can batch inserts.
+-- MySQL has no sequences; Hibernate emulates one with this single-row table.
+CREATE TABLE task_seq (next_val BIGINT NOT NULL) ENGINE = InnoDB;
+
+-- The pooled optimizer hands out (next_val - 49 .. next_val) first, so start above every existing id.
+-- Anything else inserting into task must not rely on AUTO_INCREMENT from now on.
+INSERT INTO task_seq (next_val) SELECT COALESCE(MAX(id), 0) + 51 FROM task;
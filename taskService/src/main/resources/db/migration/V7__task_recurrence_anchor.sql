@@ -0,0 +1,5 @@
+-- A repeating task is one row: due_date holds its current occurrence and recurrence_anchor the first one,
+-- every other occurrence is computed from the anchor. Only occurrences the user changed get their own row.
+ALTER TABLE task ADD COLUMN recurrence_anchor DATETIME NULL AFTER frequency_repeat;
+
+UPDATE task SET recurrence_anchor = due_date WHERE is_repeat = 1 AND due_date IS NOT NULL;
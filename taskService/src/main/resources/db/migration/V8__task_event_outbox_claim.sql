@@ -0,0 +1,2 @@
+-- Outbox relays claim a batch for a lease instead of holding its row locks while Kafka acknowledges it
+ALTER TABLE task_event_outbox ADD COLUMN claimed_until DATETIME NULL;
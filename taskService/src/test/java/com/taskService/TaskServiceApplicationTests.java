@@ -3,6 +3,9 @@ package com.taskService;
 import com.taskService.config.JwtAuthenticationFilter;
 import com.taskService.config.JwtUtil;
 import com.taskService.config.TestSecurityConfig;
+import com.taskService.repository.ScanLeaseRepository;
+import com.taskService.repository.ScanNodeRepository;
+import com.taskService.repository.TaskEventOutboxRepository;
 import com.taskService.repository.TaskRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
@@ -30,6 +33,12 @@ class TaskServiceApplicationTests {
 	@MockBean
 	private TaskRepository taskRepository;
 	@MockBean
+	private ScanLeaseRepository scanLeaseRepository;
+	@MockBean
+	private ScanNodeRepository scanNodeRepository;
+	@MockBean
+	private TaskEventOutboxRepository taskEventOutboxRepository;
+	@MockBean
 	private JwtUtil jwtUtil;
 	@MockBean
 	private JwtAuthenticationFilter jwtAuthenticationFilter;
@@ -0,0 +1,65 @@
+package com.taskService.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskService.dto.UserDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class UserServiceClientTest {
+    @Mock
+    private WebClient.Builder webClientBuilder;
+    private Cache<Long, UserDto> userCache;
+    private UserServiceClient userServiceClient;
+    private UserDto user;
+
+    @BeforeEach
+    void setUp() {
+        userCache = Caffeine.newBuilder().maximumSize(10).recordStats().build();
+        userServiceClient = new UserServiceClient(webClientBuilder, userCache);
+        user = UserDto.builder().id(100L).email("user@example.com").telegramChatId(12345L).build();
+    }
+
+    @Test
+    @DisplayName("Cache hit - getUserById - no call to user-service")
+    void getUserById_cached_shouldNotCallUserService() {
+        userCache.put(100L, user);
+
+        assertSame(user, userServiceClient.getUserById(100L));
+        assertEquals(1, userCache.stats().hitCount());
+        verifyNoInteractions(webClientBuilder);
+    }
+
+    @Test
+    @DisplayName("Cache hit - getUsersByIds - all ids cached, no batch call")
+    void getUsersByIds_allCached_shouldNotCallUserService() {
+        userCache.put(100L, user);
+
+        Map<Long, UserDto> users = userServiceClient.getUsersByIds(List.of(100L));
+
+        assertEquals(Map.of(100L, user), users);
+        verifyNoInteractions(webClientBuilder);
+    }
+
+    @Test
+    @DisplayName("Succeed - evict - drops the cached user")
+    void evict_shouldInvalidateEntry() {
+        userCache.put(100L, user);
+
+        userServiceClient.evict(100L);
+
+        assertNull(userCache.getIfPresent(100L));
+    }
+}
@@ -1,6 +1,7 @@
 package com.taskService.controller;
 
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import com.taskService.TaskServiceApplication;
@@ -37,6 +38,7 @@ import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
@@ -45,6 +47,8 @@ import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
@@ -54,7 +58,9 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.hamcrest.Matchers.is;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 @SpringBootTest(classes = TaskServiceApplication.class,properties = "spring.jpa.hibernate.ddl-auto=create")
 @AutoConfigureMockMvc
@@ -158,6 +164,20 @@ public class TaskControllerIntegrationTest {
                 .andExpect(jsonPath("$.totalElements").value(1));
     }
     @Test
+    @DisplayName("Success - getAllTasks without descriptions")
+    void successGetAllTasksWithoutDescription() throws Exception {
+        saveFilterTasks(2);
+
+        mockMvc.perform(get("/api/tasks")
+                        .param("includeDescription", "false")
+                        .param("sort", "title,desc")
+                        .principal(() -> "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Filter Task 1"))
+                .andExpect(jsonPath("$.content[0].description").doesNotExist())
+                .andExpect(jsonPath("$.totalElements").value(2));
+    }
+    @Test
     @DisplayName("400 wrong sort - getAllTasks")
     void wrongSortGetAllTasks() throws Exception {
         mockMvc.perform(get("/api/tasks")
@@ -167,6 +187,88 @@ public class TaskControllerIntegrationTest {
                 .andExpect(status().isBadRequest());
     }
     @Test
+    @DisplayName("Success - getAllTasks cursor mode walks ties and null due dates once, nulls last")
+    void successGetAllTasksCursorMode() throws Exception {
+        LocalDateTime due = LocalDateTime.now().plusDays(1).withNano(0);
+        List<LocalDateTime> dueDates = Arrays.asList(null, due.plusDays(1), due, null, due);
+        for (int i = 0; i < dueDates.size(); i++) {
+            taskRepository.save(Task.builder()
+                    .title("Keyset " + i)
+                    .description("Integration test description")
+                    .priority(Priority.LOW)
+                    .status(Status.NOT_COMPLETED)
+                    .userId(1L)
+                    .date(LocalDateTime.now())
+                    .dueDate(dueDates.get(i))
+                    .build());
+        }
+
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+        boolean first = true;
+        do {
+            var request = get("/api/tasks")
+                    .principal(() -> "1")
+                    .param("mode", "cursor")
+                    .param("size", "2")
+                    .param("sort", "dueDate,asc")
+                    .param("withCount", String.valueOf(first));
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            MvcResult result = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andExpect(first ? jsonPath("$.totalElements").value(5) : jsonPath("$.totalElements").doesNotExist())
+                    .andReturn();
+            JsonNode page = objectMapper.readTree(result.getResponse().getContentAsString());
+            page.get("content").forEach(task -> titles.add(task.get("title").asText()));
+            cursor = page.get("hasNext").asBoolean() ? page.get("nextCursor").asText() : null;
+            first = false;
+        } while (cursor != null);
+
+        assertThat(titles).containsExactly("Keyset 2", "Keyset 4", "Keyset 1", "Keyset 0", "Keyset 3");
+    }
+    @Test
+    @DisplayName("400 - getAllTasks cursor reused with another sort")
+    void badRequestGetAllTasksCursorSortMismatch() throws Exception {
+        saveFilterTasks(3);
+        MvcResult result = mockMvc.perform(get("/api/tasks")
+                        .principal(() -> "1")
+                        .param("mode", "cursor")
+                        .param("size", "1")
+                        .param("sort", "title,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Filter Task 2"))
+                .andReturn();
+        String cursor = objectMapper.readTree(result.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/tasks")
+                        .principal(() -> "1")
+                        .param("mode", "cursor")
+                        .param("size", "1")
+                        .param("sort", "dueDate,asc")
+                        .param("cursor", cursor))
+                .andExpect(status().isBadRequest());
+    }
+    @Test
+    @DisplayName("400 - getAllTasks - page size out of range in either mode, whatever the mode's case")
+    void badRequestGetAllTasksPageSize() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                        .principal(() -> "1")
+                        .param("size", "501"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks")
+                        .principal(() -> "1")
+                        .param("mode", "PAGE")
+                        .param("size", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks")
+                        .principal(() -> "1")
+                        .param("mode", "Cursor")
+                        .param("size", "501"))
+                .andExpect(status().isBadRequest());
+    }
+    @Test
     @DisplayName("Success - searchTasks")
     void successSearchTasks() throws Exception {
         Task task = Task.builder()
@@ -318,6 +420,92 @@ public class TaskControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].title").value("Priority Task"))
                 .andExpect(jsonPath("$[0].priority").value("MEDIUM"));
     }
+    private void saveFilterTasks(int count) {
+        for (int i = 0; i < count; i++) {
+            taskRepository.save(Task.builder()
+                    .title("Filter Task " + i)
+                    .description("Integration test description")
+                    .priority(Priority.HIGH)
+                    .status(Status.NOT_COMPLETED)
+                    .userId(1L)
+                    .date(LocalDateTime.now())
+                    .build());
+        }
+    }
+    @Test
+    @DisplayName("Success - filterTask page mode")
+    void successFilterTaskPageMode() throws Exception {
+        saveFilterTasks(5);
+
+        mockMvc.perform(get("/api/tasks/filter")
+                        .principal(() -> "1")
+                        .param("priority", "HIGH")
+                        .param("mode", "page")
+                        .param("page", "1")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].title").value("Filter Task 2"))
+                .andExpect(jsonPath("$.totalElements").value(5));
+    }
+    @Test
+    @DisplayName("Success - filterTask cursor mode walks every task exactly once")
+    void successFilterTaskCursorMode() throws Exception {
+        saveFilterTasks(5);
+
+        MvcResult first = mockMvc.perform(get("/api/tasks/filter")
+                        .principal(() -> "1")
+                        .param("mode", "cursor")
+                        .param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(3))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn();
+        String cursor = objectMapper.readTree(first.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/tasks/filter")
+                        .principal(() -> "1")
+                        .param("mode", "cursor")
+                        .param("size", "3")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].title").value("Filter Task 3"))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+    @Test
+    @DisplayName("400 - filterTask - invalid cursor or page size")
+    void badRequestFilterTaskCursor() throws Exception {
+        mockMvc.perform(get("/api/tasks/filter")
+                        .principal(() -> "1")
+                        .param("mode", "cursor")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks/filter")
+                        .principal(() -> "1")
+                        .param("mode", "page")
+                        .param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+    @Test
+    @DisplayName("Success - exportFilteredTasks streams NDJSON")
+    void successExportFilteredTasks() throws Exception {
+        saveFilterTasks(3);
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/filter/export")
+                        .principal(() -> "1")
+                        .param("status", "NOT_COMPLETED"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON));
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(objectMapper.readTree(lines[2]).get("title").asText()).isEqualTo("Filter Task 2");
+    }
     @Test
     @DisplayName("Success - createTask")
     void successCreateTask() throws Exception {
@@ -339,6 +527,78 @@ public class TaskControllerIntegrationTest {
 
     }
     @Test
+    @DisplayName("Success - createTasks bulk, series roots point at themselves")
+    void successCreateTasksBulk() throws Exception {
+        List<TaskRequestDto> tasks = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            tasks.add(TaskRequestDto.builder()
+                    .title("Bulk " + i)
+                    .description("Integration test description")
+                    .priority(Priority.LOW)
+                    .date(LocalDateTime.now())
+                    .dueDate(LocalDateTime.now().plusDays(1))
+                    .status(Status.NOT_COMPLETED)
+                    .isRepeat(i % 2 == 0)
+                    .frequency_repeat(i % 2 == 0 ? Frequency_repeat.DAY : null)
+                    .build());
+        }
+
+        mockMvc.perform(post("/api/tasks/bulk")
+                        .principal(() -> "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(BulkTaskRequestDto.builder().tasks(tasks).build())))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(120))
+                .andExpect(jsonPath("$[119].title").value("Bulk 119"));
+
+        List<Task> saved = taskRepository.findAll();
+        assertThat(saved).hasSize(120);
+        assertThat(saved).filteredOn(Task::isRepeat).allMatch(task -> task.getId().equals(task.getParentTaskId()));
+        assertThat(saved).filteredOn(task -> !task.isRepeat()).allMatch(task -> task.getParentTaskId() == null);
+    }
+    @Test
+    @DisplayName("400 - createTasks bulk with an invalid task creates nothing")
+    void badRequestCreateTasksBulk() throws Exception {
+        List<TaskRequestDto> tasks = List.of(
+                TaskRequestDto.builder().title("Valid").description("d").priority(Priority.LOW)
+                        .date(LocalDateTime.now()).status(Status.NOT_COMPLETED).build(),
+                TaskRequestDto.builder().description("no title").priority(Priority.LOW)
+                        .date(LocalDateTime.now()).status(Status.NOT_COMPLETED).build());
+
+        mockMvc.perform(post("/api/tasks/bulk")
+                        .principal(() -> "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(BulkTaskRequestDto.builder().tasks(tasks).build())))
+                .andExpect(status().isBadRequest());
+        assertThat(taskRepository.count()).isZero();
+    }
+    @Test
+    @DisplayName("Success / 403 - updateStatuses bulk")
+    void updateStatusesBulk() throws Exception {
+        saveFilterTasks(3);
+        List<Long> ids = taskRepository.findAll().stream().map(Task::getId).toList();
+        Task foreign = taskRepository.save(Task.builder().title("Foreign").description("d").priority(Priority.LOW)
+                .status(Status.NOT_COMPLETED).userId(2L).date(LocalDateTime.now()).build());
+
+        mockMvc.perform(patch("/api/tasks/bulk/status")
+                        .principal(() -> "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkStatusUpdateRequestDto(ids, Status.COMPLETED))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].status").value("COMPLETED"));
+        assertThat(taskRepository.findAllById(ids)).allMatch(task -> task.getStatus() == Status.COMPLETED);
+
+        List<Long> withForeign = new ArrayList<>(ids);
+        withForeign.add(foreign.getId());
+        mockMvc.perform(patch("/api/tasks/bulk/status")
+                        .principal(() -> "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkStatusUpdateRequestDto(withForeign, Status.ARCHIVED))))
+                .andExpect(status().isForbidden());
+        assertThat(taskRepository.findAllById(ids)).allMatch(task -> task.getStatus() == Status.COMPLETED);
+    }
+    @Test
     @DisplayName("400 - createTask empty title")
     void emptyTitleCreateTask() throws Exception {
         TaskRequestDto taskRequestDto = TaskRequestDto.builder()
@@ -436,6 +696,47 @@ public class TaskControllerIntegrationTest {
                 .andExpect(jsonPath("$.status").value("COMPLETED"));
     }
     @Test
+    @DisplayName("Success - completing a repeating task, then listing its occurrences")
+    void completeRepeatTaskAndGetOccurrences() throws Exception {
+        LocalDateTime start = LocalDateTime.now().minusDays(2).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        Task series = taskRepository.save(Task.builder()
+                .title("Standup")
+                .description("Daily standup")
+                .priority(Priority.LOW)
+                .status(Status.NOT_COMPLETED)
+                .userId(USER_ID_1)
+                .date(start)
+                .dueDate(start.plusDays(2))
+                .recurrenceAnchor(start)
+                .isRepeat(true)
+                .frequencyRepeat(Frequency_repeat.DAY)
+                .build());
+
+        mockMvc.perform(patch("/api/tasks/{id}/status", series.getId())
+                        .principal(() -> USER_ID_1.toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UpdateStatusRequestDto(Status.COMPLETED))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.repeat").value(false));
+
+        assertThat(taskRepository.findById(series.getId()).orElseThrow().getDueDate()).isEqualTo(start.plusDays(3));
+
+        mockMvc.perform(get("/api/tasks/{id}/occurrences", series.getId())
+                        .param("from", start.toString())
+                        .param("to", start.plusDays(4).toString())
+                        .principal(() -> USER_ID_1.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(jsonPath("$[0].status").value("OVERDUE"))
+                .andExpect(jsonPath("$[0].materialized").value(false))
+                .andExpect(jsonPath("$[2].status").value("COMPLETED"))
+                .andExpect(jsonPath("$[2].materialized").value(true))
+                .andExpect(jsonPath("$[3].taskId").value(series.getId()))
+                .andExpect(jsonPath("$[3].status").value("NOT_COMPLETED"))
+                .andExpect(jsonPath("$[4].taskId").doesNotExist());
+    }
+    @Test
     @DisplayName("Success - updatePriority")
     void updatePrioritySuccess() throws Exception {
         Task task = Task.builder()
@@ -519,6 +820,21 @@ public class TaskControllerIntegrationTest {
         assertThat(updatedTasks.stream().allMatch(t -> t.getStatus() == Status.ARCHIVED)).isTrue();
     }
 
+    @Test
+    @DisplayName("Success - archiveSeries summary")
+    void archiveSeriesSummary() throws Exception {
+        Task parentTask = createRepeatSeries(USER_ID_1, 2, Status.NOT_COMPLETED);
+
+        mockMvc.perform(delete("/api/tasks/{id}/series/archive", parentTask.getId())
+                        .param("summary", "true")
+                        .principal(() -> USER_ID_1.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.seriesId").value(parentTask.getId()))
+                .andExpect(jsonPath("$.affectedTasks").value(3));
+
+        assertThat(taskRepository.findAll().stream().allMatch(t -> t.getStatus() == Status.ARCHIVED)).isTrue();
+    }
+
     @Test
     @DisplayName("403 - archiveSeries foreign user")
     void archiveSeriesForeignUser() throws Exception {
@@ -608,6 +924,20 @@ public class TaskControllerIntegrationTest {
         assertThat(taskRepository.findAll()).isEmpty();
     }
 
+    @Test
+    @DisplayName("200 - deleteArchivedTaskSeries summary")
+    void deleteArchivedTaskSeriesSummary() throws Exception {
+        Task parentTask = createRepeatSeries(USER_ID_1, 2, Status.ARCHIVED);
+
+        mockMvc.perform(delete("/api/tasks/{id}/series/permanent", parentTask.getId())
+                        .param("summary", "true")
+                        .principal(() -> USER_ID_1.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affectedTasks").value(3));
+
+        assertThat(taskRepository.findAll()).isEmpty();
+    }
+
     @Test
     @DisplayName("409 - deleteArchivedTaskSeries )")
     void illegalStateDeleteArchivedTaskSeries() throws Exception {
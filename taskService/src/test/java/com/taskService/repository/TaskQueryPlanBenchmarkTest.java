@@ -0,0 +1,223 @@
+package com.taskService.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Prints MySQL query plans and latencies of the scheduler, listing and search queries before and after
+ * the db/migration index scripts, and fails if a cursor page query still needs a filesort once the indexes
+ * exist. Disabled unless run with {@code -Dbenchmark.rows=1000000,10000000}; the report is written to
+ * {@code build/reports/benchmark/task-query-plans.md}.
+ * No report has been checked in yet, so the plans the index migrations aim for are unverified.
+ */
+@Testcontainers
+@EnabledIfSystemProperty(named = "benchmark.rows", matches = "[0-9,]+")
+public class TaskQueryPlanBenchmarkTest {
+    private static final int USERS = 10_000;
+    private static final int INSERT_BATCH = 500_000;
+    private static final int RUNS = 20;
+    private static final int HEAVY_USER_TASKS = 100_000;
+
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+            .withUsername("root")
+            .withPassword("test")
+            .withCommand("--innodb-buffer-pool-size=1G");
+
+    private static final Map<String, String> QUERIES = new LinkedHashMap<>();
+    // MATCH ... AGAINST fails without a FULLTEXT index (error 1191), so these only run after db/migration
+    private static final Map<String, String> POST_MIGRATION_QUERIES = new LinkedHashMap<>();
+    // the two phases of a dueDate cursor page (TaskRepositoryImpl.findPageAfter), read in index order
+    private static final Map<String, String> CURSOR_QUERIES = new LinkedHashMap<>();
+
+    static {
+        QUERIES.put("overdue chunk", "SELECT * FROM task WHERE due_date < ? AND status = 'NOT_COMPLETED' " +
+                "AND MOD(user_id, 1) IN (0) AND (due_date > '1000-01-01' OR (due_date = '1000-01-01' AND id > 0)) " +
+                "ORDER BY due_date, id LIMIT 500");
+        QUERIES.put("nearly overdue chunk", "SELECT * FROM task WHERE due_date BETWEEN ? AND ? + INTERVAL 15 MINUTE " +
+                "AND status = 'NOT_COMPLETED' AND nearly_overdue_notified = 0 AND MOD(user_id, 1) IN (0) " +
+                "AND (due_date > '1000-01-01' OR (due_date = '1000-01-01' AND id > 0)) ORDER BY due_date, id LIMIT 500");
+        QUERIES.put("active tasks page", "SELECT * FROM task WHERE user_id = 42 AND status <> 'ARCHIVED' ORDER BY due_date LIMIT 20");
+        QUERIES.put("tasks by title page", "SELECT * FROM task WHERE user_id = 42 ORDER BY title DESC, id DESC LIMIT 20");
+        QUERIES.put("active tasks count", "SELECT COUNT(*) FROM task WHERE user_id = 42 AND status <> 'ARCHIVED'");
+        QUERIES.put("repeat group", "SELECT * FROM task WHERE user_id = 42 AND (id = 4242 OR parent_task_id = 4242)");
+        QUERIES.put("search like", "SELECT * FROM task WHERE user_id = 42 AND (LOWER(title) LIKE '%invo%' " +
+                "OR LOWER(description) LIKE '%invo%') ORDER BY due_date LIMIT 10");
+        QUERIES.put("cursor due date nulls last in one query", "SELECT * FROM task WHERE user_id = 42 " +
+                "AND (due_date > ? OR due_date IS NULL OR (due_date = ? AND id > 0)) " +
+                "ORDER BY CASE WHEN due_date IS NULL THEN 1 ELSE 0 END, due_date, id LIMIT 21");
+        CURSOR_QUERIES.put("cursor due date values", "SELECT * FROM task WHERE user_id = 42 AND due_date IS NOT NULL " +
+                "AND (due_date > ? OR (due_date = ? AND id > 0)) ORDER BY due_date, id LIMIT 21");
+        CURSOR_QUERIES.put("cursor due date values desc", "SELECT * FROM task WHERE user_id = 42 " +
+                "AND due_date IS NOT NULL AND (due_date < ? OR (due_date = ? AND id < 9223372036854775807)) " +
+                "ORDER BY due_date DESC, id DESC LIMIT 21");
+        CURSOR_QUERIES.put("cursor due date nulls", "SELECT * FROM task WHERE user_id = 42 AND due_date IS NULL " +
+                "AND id > 0 ORDER BY id LIMIT 21");
+        POST_MIGRATION_QUERIES.put("search fulltext", "SELECT * FROM task WHERE user_id = 42 " +
+                "AND MATCH(title, description) AGAINST ('+invo*' IN BOOLEAN MODE) " +
+                "ORDER BY (2 * MATCH(title) AGAINST ('+invo*' IN BOOLEAN MODE) " +
+                "+ MATCH(title, description) AGAINST ('+invo*' IN BOOLEAN MODE)) DESC, id DESC LIMIT 10");
+    }
+
+    @Test
+    @DisplayName("Benchmark - query plans and latency before and after the index migrations")
+    void reportQueryPlans() throws Exception {
+        StringBuilder report = new StringBuilder("# Task query plans\n");
+        for (String rows : System.getProperty("benchmark.rows").split(",")) {
+            long rowCount = Long.parseLong(rows.trim());
+            try (Connection connection = connect()) {
+                createSchema(connection);
+                populate(connection, rowCount);
+                report.append("\n## ").append(rowCount).append(" rows, init.sql indexes\n");
+                measure(connection, report, QUERIES, false);
+                for (Resource migration : migrations()) {
+                    ScriptUtils.executeSqlScript(connection, migration);
+                }
+                analyze(connection);
+                report.append("\n## ").append(rowCount).append(" rows, after db/migration\n");
+                measure(connection, report, QUERIES, false);
+                measure(connection, report, POST_MIGRATION_QUERIES, false);
+                measure(connection, report, CURSOR_QUERIES, true);
+            }
+        }
+        Path out = Path.of("build", "reports", "benchmark", "task-query-plans.md");
+        Files.createDirectories(out.getParent());
+        Files.writeString(out, report);
+        System.out.println(report);
+    }
+
+    private List<Resource> migrations() throws IOException {
+        return Arrays.stream(new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/V*.sql"))
+                .sorted(Comparator.comparingInt(resource -> Integer.parseInt(
+                        resource.getFilename().substring(1, resource.getFilename().indexOf("__")))))
+                .toList();
+    }
+
+    private Connection connect() throws SQLException {
+        Connection connection = DriverManager.getConnection(mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET SESSION cte_max_recursion_depth = 100000000");
+        }
+        return connection;
+    }
+
+    private void createSchema(Connection connection) throws SQLException {
+        ScriptUtils.executeSqlScript(connection, new FileSystemResource(Path.of("..", "init.sql")));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("USE task");
+        }
+    }
+
+    private void populate(Connection connection, long rowCount) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET SESSION foreign_key_checks = 0");
+            statement.execute("INSERT INTO users (id, username, password, email) " +
+                    "WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < " + USERS + ") " +
+                    "SELECT n, CONCAT('user', n), 'x', CONCAT('user', n, '@example.com') FROM seq");
+        }
+        // due dates spread over +-30 days with every 13th one unset, 70% NOT_COMPLETED, every 10th task part of a repeat series;
+        // the last HEAVY_USER_TASKS rows belong to user 42 for the per-user listing and search queries
+        String insert = "INSERT INTO task (user_id, title, description, date, due_date, status, priority, " +
+                "nearly_overdue_notified, is_repeat, frequency_repeat, parent_task_id) " +
+                "WITH RECURSIVE seq (n) AS (SELECT ? UNION ALL SELECT n + 1 FROM seq WHERE n < ?) " +
+                "SELECT IF(n > ?, 42, 1 + MOD(n, " + USERS + ")), " +
+                "CONCAT(ELT(1 + MOD(n, 20), 'invoice', 'report', 'meeting', 'review', 'deploy', 'design', 'budget', " +
+                "'call', 'email', 'plan', 'test', 'release', 'hiring', 'travel', 'taxes', 'backup', 'audit', " +
+                "'training', 'workshop', 'refactor'), ' ', n), CONCAT('Benchmark task ', MOD(n, 997)), NOW(), " +
+                "IF(MOD(n, 13) = 0, NULL, NOW() - INTERVAL 30 DAY + INTERVAL MOD(n * 7919, 86400 * 60) SECOND), " +
+                "ELT(1 + MOD(n, 10), 'NOT_COMPLETED', 'NOT_COMPLETED', 'NOT_COMPLETED', 'NOT_COMPLETED', " +
+                "'NOT_COMPLETED', 'NOT_COMPLETED', 'NOT_COMPLETED', 'COMPLETED', 'OVERDUE', 'ARCHIVED'), " +
+                "ELT(1 + MOD(n, 4), 'LOW', 'MEDIUM', 'HIGH', 'CRITICAL'), MOD(n, 2), MOD(n, 10) = 0, " +
+                "IF(MOD(n, 10) = 0, 'DAY', NULL), IF(MOD(n, 10) = 0, n - MOD(n, 100), NULL) FROM seq";
+        long total = rowCount + HEAVY_USER_TASKS;
+        try (PreparedStatement statement = connection.prepareStatement(insert)) {
+            for (long from = 1; from <= total; from += INSERT_BATCH) {
+                statement.setLong(1, from);
+                statement.setLong(2, Math.min(from + INSERT_BATCH - 1, total));
+                statement.setLong(3, rowCount);
+                statement.executeUpdate();
+            }
+        }
+        analyze(connection);
+    }
+
+    private void analyze(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE TABLE task");
+        }
+    }
+
+    private void measure(Connection connection, StringBuilder report, Map<String, String> queries,
+                         boolean indexOrdered) throws SQLException {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (Map.Entry<String, String> query : queries.entrySet()) {
+            report.append("\n### ").append(query.getKey()).append("\n```\n");
+            StringBuilder plan = new StringBuilder();
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN FORMAT=TREE " + query.getValue())) {
+                bind(explain, query.getValue(), now);
+                try (ResultSet rows = explain.executeQuery()) {
+                    while (rows.next()) {
+                        plan.append(rows.getString(1)).append('\n');
+                    }
+                }
+            }
+            report.append(plan).append("```\n");
+            if (indexOrdered) {
+                assertFalse(plan.toString().contains("-> Sort"), query.getKey() + " needs a filesort:\n" + plan);
+            }
+            List<Long> micros = new ArrayList<>(RUNS);
+            try (PreparedStatement statement = connection.prepareStatement(query.getValue())) {
+                for (int run = 0; run < RUNS; run++) {
+                    bind(statement, query.getValue(), now);
+                    long start = System.nanoTime();
+                    try (ResultSet rows = statement.executeQuery()) {
+                        while (rows.next()) {
+                            // drain the result
+                        }
+                    }
+                    micros.add((System.nanoTime() - start) / 1_000);
+                }
+            }
+            long[] sorted = micros.stream().mapToLong(Long::longValue).sorted().toArray();
+            report.append(String.format("p50 %.2f ms, p95 %.2f ms, max %.2f ms over %d runs%n",
+                    sorted[sorted.length / 2] / 1000.0,
+                    sorted[(int) Math.ceil(sorted.length * 0.95) - 1] / 1000.0,
+                    Arrays.stream(sorted).max().orElse(0) / 1000.0, RUNS));
+        }
+    }
+
+    private void bind(PreparedStatement statement, String sql, Timestamp now) throws SQLException {
+        int parameters = (int) sql.chars().filter(c -> c == '?').count();
+        for (int i = 1; i <= parameters; i++) {
+            statement.setTimestamp(i, now);
+        }
+    }
+}
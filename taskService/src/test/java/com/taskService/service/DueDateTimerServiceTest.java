@@ -0,0 +1,128 @@
+package com.taskService.service;
+
+import com.taskService.dto.TaskChangedEvent;
+import com.taskService.model.ScanScope;
+import com.taskService.model.Status;
+import com.taskService.model.Task;
+import com.taskService.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DueDateTimerServiceTest {
+    @Mock
+    private TaskRepository taskRepository;
+    @Mock
+    private TaskScanChunkProcessor chunkProcessor;
+    @Mock
+    private ScanLeaseManager scanLeaseManager;
+    @InjectMocks
+    private DueDateTimerService timerService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(timerService, "enabled", true);
+        ReflectionTestUtils.setField(timerService, "horizonMinutes", 120L);
+        ReflectionTestUtils.setField(timerService, "maxTimers", 1000);
+        ReflectionTestUtils.setField(timerService, "chunkSize", 500);
+        lenient().when(scanLeaseManager.currentScope()).thenReturn(ScanScope.unsharded());
+    }
+
+    private static Task task(long id, LocalDateTime dueDate) {
+        return Task.builder().id(id).userId(100L).title("Task " + id)
+                .dueDate(dueDate).status(Status.NOT_COMPLETED).build();
+    }
+
+    @Test
+    @DisplayName("Succeed - load - tasks within the horizon get an overdue and a nearly-overdue timer")
+    void load_shouldScheduleBothTimers() {
+        when(taskRepository.findDueChunk(any(), eq(Status.NOT_COMPLETED), eq(1L), eq(List.of(0L)), any(), any(), any()))
+                .thenReturn(List.of(task(1L, LocalDateTime.now().plusMinutes(30))));
+
+        timerService.load();
+
+        assertEquals(2, timerService.pendingTimers());
+        timerService.tick();
+        verifyNoInteractions(chunkProcessor);
+    }
+
+    @Test
+    @DisplayName("Succeed - tick - nearly-overdue timer inside the 15 minute window fires on the next tick")
+    void tick_shouldFireNearlyOverdueWithinWindow() {
+        when(taskRepository.findDueChunk(any(), any(), anyLong(), anyList(), any(), any(), any()))
+                .thenReturn(List.of(task(1L, LocalDateTime.now().plusMinutes(5))));
+        timerService.load();
+
+        timerService.tick();
+
+        verify(chunkProcessor).processNearlyOverdueTasks(eq(ScanScope.unsharded()), any(), any(), eq(List.of(1L)));
+        verify(chunkProcessor, never()).processOverdueTasks(any(), any(), anyList());
+    }
+
+    @Test
+    @DisplayName("Succeed - onTaskChanged - due date moved into the past fires overdue on the next tick")
+    void onTaskChanged_pastDueDate_shouldFireOverdue() {
+        timerService.load();
+        Task moved = task(2L, LocalDateTime.now().minusSeconds(1));
+        moved.setNearlyOverdueNotified(true);
+
+        timerService.onTaskChanged(TaskChangedEvent.of(moved));
+        timerService.tick();
+
+        verify(chunkProcessor).processOverdueTasks(eq(ScanScope.unsharded()), any(), eq(List.of(2L)));
+        verify(chunkProcessor, never()).processNearlyOverdueTasks(any(), any(), any(), anyList());
+    }
+
+    @Test
+    @DisplayName("Succeed - onTaskChanged - completed or deleted task drops its timers")
+    void onTaskChanged_completed_shouldCancelTimers() {
+        Task task = task(3L, LocalDateTime.now().plusMinutes(30));
+        when(taskRepository.findDueChunk(any(), any(), anyLong(), anyList(), any(), any(), any()))
+                .thenReturn(List.of(task));
+        timerService.load();
+        assertEquals(2, timerService.pendingTimers());
+
+        task.setStatus(Status.COMPLETED);
+        timerService.onTaskChanged(TaskChangedEvent.of(task));
+
+        assertEquals(0, timerService.pendingTimers());
+    }
+
+    @Test
+    @DisplayName("Skipped - onTaskChanged - task beyond the loaded horizon or outside the leased shards")
+    void onTaskChanged_outOfRange_shouldNotSchedule() {
+        when(scanLeaseManager.currentScope()).thenReturn(new ScanScope(2, List.of(0L)));
+        timerService.load();
+
+        timerService.onTaskChanged(TaskChangedEvent.of(task(4L, LocalDateTime.now().plusHours(5))));
+        Task otherShard = task(5L, LocalDateTime.now().plusMinutes(30));
+        otherShard.setUserId(101L);
+        timerService.onTaskChanged(TaskChangedEvent.of(otherShard));
+
+        assertEquals(0, timerService.pendingTimers());
+    }
+
+    @Test
+    @DisplayName("Disabled - load and tick - nothing is read or fired")
+    void disabled_shouldDoNothing() {
+        ReflectionTestUtils.setField(timerService, "enabled", false);
+
+        timerService.load();
+        timerService.tick();
+
+        verifyNoInteractions(taskRepository, chunkProcessor, scanLeaseManager);
+    }
+}
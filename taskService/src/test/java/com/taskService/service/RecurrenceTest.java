@@ -0,0 +1,47 @@
+package com.taskService.service;
+
+import com.taskService.model.Frequency_repeat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RecurrenceTest {
+    private static final LocalDateTime ANCHOR = LocalDateTime.of(2024, 1, 31, 9, 30);
+
+    @Test
+    @DisplayName("next - anchor still ahead - returns the anchor")
+    void next_anchorAhead_shouldReturnAnchor() {
+        assertThat(Recurrence.next(ANCHOR, Frequency_repeat.DAY, ANCHOR.minusHours(1))).isEqualTo(ANCHOR);
+    }
+
+    @Test
+    @DisplayName("next - catches up over years of hourly occurrences in one step")
+    void next_hourly_shouldCatchUp() {
+        LocalDateTime after = LocalDateTime.of(2026, 6, 15, 12, 10);
+        assertThat(Recurrence.next(ANCHOR, Frequency_repeat.HOUR, after)).isEqualTo(LocalDateTime.of(2026, 6, 15, 12, 30));
+        assertThat(Recurrence.next(ANCHOR, Frequency_repeat.HOUR, LocalDateTime.of(2026, 6, 15, 12, 30)))
+                .isEqualTo(LocalDateTime.of(2026, 6, 15, 13, 30));
+    }
+
+    @Test
+    @DisplayName("next - monthly occurrences keep the anchor's day after a short month")
+    void next_monthly_shouldNotDrift() {
+        assertThat(Recurrence.next(ANCHOR, Frequency_repeat.MONTH, ANCHOR)).isEqualTo(LocalDateTime.of(2024, 2, 29, 9, 30));
+        assertThat(Recurrence.next(ANCHOR, Frequency_repeat.MONTH, LocalDateTime.of(2024, 2, 29, 9, 30)))
+                .isEqualTo(LocalDateTime.of(2024, 3, 31, 9, 30));
+        assertThat(Recurrence.next(ANCHOR, Frequency_repeat.YEAR, LocalDateTime.of(2030, 2, 1, 0, 0)))
+                .isEqualTo(LocalDateTime.of(2031, 1, 31, 9, 30));
+    }
+
+    @Test
+    @DisplayName("between - returns the occurrences inside the window, bounded by the limit")
+    void between_shouldListWindow() {
+        assertThat(Recurrence.between(ANCHOR, Frequency_repeat.WEEK, ANCHOR.plusWeeks(2), ANCHOR.plusWeeks(4).minusMinutes(1), 10))
+                .containsExactly(ANCHOR.plusWeeks(2), ANCHOR.plusWeeks(3));
+        assertThat(Recurrence.between(ANCHOR, Frequency_repeat.HOUR, ANCHOR.minusDays(1), ANCHOR.plusYears(1), 3))
+                .containsExactly(ANCHOR, ANCHOR.plusHours(1), ANCHOR.plusHours(2));
+    }
+}
@@ -0,0 +1,129 @@
+package com.taskService.service;
+
+import com.taskService.model.ScanLease;
+import com.taskService.model.ScanScope;
+import com.taskService.repository.ScanLeaseRepository;
+import com.taskService.repository.ScanNodeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ScanLeaseManagerTest {
+    private static final String NODE_ID = "node-a";
+
+    @Mock
+    private ScanLeaseRepository scanLeaseRepository;
+    @Mock
+    private ScanNodeRepository scanNodeRepository;
+    @InjectMocks
+    private ScanLeaseManager scanLeaseManager;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(scanLeaseManager, "enabled", true);
+        ReflectionTestUtils.setField(scanLeaseManager, "shardCount", 4);
+        ReflectionTestUtils.setField(scanLeaseManager, "leaseTtlMs", 30000L);
+        ReflectionTestUtils.setField(scanLeaseManager, "nodeId", NODE_ID);
+    }
+
+    private static ScanLease lease(int shardId, String owner) {
+        return ScanLease.builder().shardId(shardId).owner(owner).build();
+    }
+
+    @Test
+    @DisplayName("Sharding disabled - currentScope - whole table")
+    void disabled_shouldReturnUnshardedScope() {
+        ReflectionTestUtils.setField(scanLeaseManager, "enabled", false);
+
+        assertEquals(ScanScope.unsharded(), scanLeaseManager.currentScope());
+        scanLeaseManager.heartbeat();
+        verifyNoInteractions(scanLeaseRepository, scanNodeRepository);
+    }
+
+    @Test
+    @DisplayName("No heartbeat yet - currentScope - empty scope")
+    void noHeartbeat_shouldReturnEmptyScope() {
+        assertTrue(scanLeaseManager.currentScope().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Succeed - heartbeat - claims up to fair share of free shards")
+    void heartbeat_shouldClaimFairShare() {
+        when(scanLeaseRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(lease(0, null), lease(1, null), lease(2, null), lease(3, null)));
+        when(scanNodeRepository.countByHeartbeatAtGreaterThanEqual(any())).thenReturn(2L);
+        when(scanLeaseRepository.findAllByOwnerAndExpiresAtGreaterThanEqualOrderByShardIdAsc(eq(NODE_ID), any())).thenReturn(List.of());
+        when(scanLeaseRepository.findClaimable(eq(4), any()))
+                .thenReturn(List.of(lease(0, null), lease(1, null), lease(2, null), lease(3, null)));
+        when(scanLeaseRepository.tryAcquire(anyInt(), eq(NODE_ID), any(), any())).thenReturn(1);
+
+        scanLeaseManager.heartbeat();
+
+        ScanScope scope = scanLeaseManager.currentScope();
+        assertEquals(4, scope.shardCount());
+        assertEquals(List.of(0L, 1L), scope.shards());
+        verify(scanLeaseRepository, times(2)).tryAcquire(anyInt(), eq(NODE_ID), any(), any());
+        verify(scanLeaseRepository, never()).saveAll(anyIterable());
+    }
+
+    @Test
+    @DisplayName("Succeed - heartbeat - releases shards above fair share when nodes join")
+    void heartbeat_shouldReleaseExtraShards() {
+        when(scanLeaseRepository.findAllById(anyIterable())).thenReturn(List.of());
+        when(scanNodeRepository.countByHeartbeatAtGreaterThanEqual(any())).thenReturn(4L);
+        when(scanLeaseRepository.findAllByOwnerAndExpiresAtGreaterThanEqualOrderByShardIdAsc(eq(NODE_ID), any()))
+                .thenReturn(List.of(lease(0, NODE_ID), lease(1, NODE_ID), lease(2, NODE_ID)));
+
+        scanLeaseManager.heartbeat();
+
+        assertEquals(List.of(0L), scanLeaseManager.currentScope().shards());
+        verify(scanLeaseRepository).saveAll(argThat(rows -> ((List<ScanLease>) rows).size() == 4));
+        verify(scanLeaseRepository).release(2, NODE_ID);
+        verify(scanLeaseRepository).release(1, NODE_ID);
+        verify(scanLeaseRepository, never()).findClaimable(anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Lost race - heartbeat - shard taken by another node is not scanned")
+    void heartbeat_lostRace_shouldNotOwnShard() {
+        when(scanLeaseRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(lease(0, null), lease(1, null), lease(2, null), lease(3, null)));
+        when(scanNodeRepository.countByHeartbeatAtGreaterThanEqual(any())).thenReturn(4L);
+        when(scanLeaseRepository.findAllByOwnerAndExpiresAtGreaterThanEqualOrderByShardIdAsc(eq(NODE_ID), any())).thenReturn(List.of());
+        when(scanLeaseRepository.findClaimable(eq(4), any())).thenReturn(List.of(lease(3, null)));
+        when(scanLeaseRepository.tryAcquire(eq(3), eq(NODE_ID), any(), any())).thenReturn(0);
+
+        scanLeaseManager.heartbeat();
+
+        assertTrue(scanLeaseManager.currentScope().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Lapsed lease - heartbeat - a shard whose lease ran out is only owned again if re-acquired")
+    void heartbeat_lapsedLease_shouldReacquireBeforeScanning() {
+        when(scanLeaseRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(lease(0, null), lease(1, null), lease(2, null), lease(3, null)));
+        when(scanNodeRepository.countByHeartbeatAtGreaterThanEqual(any())).thenReturn(2L);
+        when(scanLeaseRepository.findAllByOwnerAndExpiresAtGreaterThanEqualOrderByShardIdAsc(eq(NODE_ID), any()))
+                .thenReturn(List.of(lease(0, NODE_ID)));
+        when(scanLeaseRepository.findClaimable(eq(4), any())).thenReturn(List.of(lease(1, NODE_ID), lease(2, null)));
+        when(scanLeaseRepository.tryAcquire(eq(1), eq(NODE_ID), any(), any())).thenReturn(0);
+        when(scanLeaseRepository.tryAcquire(eq(2), eq(NODE_ID), any(), any())).thenReturn(1);
+
+        scanLeaseManager.heartbeat();
+
+        assertEquals(List.of(0L, 2L), scanLeaseManager.currentScope().shards());
+    }
+}
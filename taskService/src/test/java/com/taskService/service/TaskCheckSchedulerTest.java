@@ -1,25 +1,35 @@
 package com.taskService.service;
 
 import by.info_microservice.core.TaskEventDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.taskService.config.UserServiceClient;
+import com.taskService.dto.TaskChangedEvent;
 import com.taskService.dto.UserDto;
 import com.taskService.exception.TaskEventPublishException;
-import com.taskService.exception.TaskNotificationException;
 import com.taskService.model.Frequency_repeat;
+import com.taskService.model.ScanScope;
 import com.taskService.model.Status;
 import com.taskService.model.Task;
+import com.taskService.model.TaskEventOutbox;
+import com.taskService.repository.TaskEventOutboxRepository;
 import com.taskService.repository.TaskRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,12 +44,24 @@ public class TaskCheckSchedulerTest {
     private UserServiceClient userServiceClient;
     @Mock
     private TaskEventProducer taskEventProducer;
-    @InjectMocks
+    @Mock
+    private ScanLeaseManager scanLeaseManager;
+    @Mock
+    private TaskEventOutboxRepository outboxRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
     private TaskCheckScheduler taskCheckScheduler;
+    private TaskScanChunkProcessor chunkProcessor;
     private Task task;
     private UserDto user;
     @BeforeEach
     void setUp() {
+        chunkProcessor = new TaskScanChunkProcessor(taskRepository, userServiceClient,
+                new TaskNotificationPublisher(taskEventProducer, outboxRepository, objectMapper, 8), eventPublisher);
+        taskCheckScheduler = new TaskCheckScheduler(chunkProcessor, scanLeaseManager);
+        ReflectionTestUtils.setField(taskCheckScheduler, "chunkSize", 2);
+        ReflectionTestUtils.setField(taskCheckScheduler, "maxPerTick", 10);
         task = Task.builder()
                 .id(1L)
                 .userId(100L)
@@ -53,16 +75,17 @@ public class TaskCheckSchedulerTest {
         user.setId(100L);
         user.setEmail("user@example.com");
         user.setTelegramChatId(12345L);
+        lenient().when(scanLeaseManager.currentScope()).thenReturn(ScanScope.unsharded());
     }
     @Test
     @DisplayName("Succeed overdue- checkAllTaskStatuses - updates the status and sends a notification")
     void overdueTasks_shouldUpdateAndNotify() {
-        when(taskRepository.findByDueDateBeforeAndStatus(any(), eq(Status.NOT_COMPLETED)))
+        when(taskRepository.findOverdueChunk(any(), eq(Status.NOT_COMPLETED), eq(1L), eq(List.of(0L)), any(), any(), any()))
                 .thenReturn(List.of(task));
-        when(userServiceClient.getUserById(100L)).thenReturn(user);
+        when(userServiceClient.getUsersByIds(Set.of(100L))).thenReturn(Map.of(100L, user));
         taskCheckScheduler.checkAllTaskStatuses();
-        assertEquals(Status.OVERDUE,task.getStatus());
-        verify(taskRepository).saveAll(anyList());
+        verify(taskRepository).updateStatusByIds(List.of(1L), Status.NOT_COMPLETED, Status.OVERDUE);
+        verify(taskRepository, never()).saveAll(anyList());
         verify(taskEventProducer, atLeastOnce()).sendTaskEvent(any(TaskEventDto.class));
     }
     @Test
@@ -76,75 +99,230 @@ public class TaskCheckSchedulerTest {
                 .status(Status.NOT_COMPLETED)
                 .nearlyOverdueNotified(false)
                 .build();
-        when(taskRepository.findByDueDateBetweenAndStatusAndNearlyOverdueNotified(any(),any(), eq(Status.NOT_COMPLETED),eq(false)))
+        when(taskRepository.findNearlyOverdueChunk(any(),any(), eq(Status.NOT_COMPLETED),eq(false), eq(1L), eq(List.of(0L)), any(), any(), any()))
                 .thenReturn(List.of(nearly));
-        when(userServiceClient.getUserById(100L)).thenReturn(user);
+        when(userServiceClient.getUsersByIds(Set.of(100L))).thenReturn(Map.of(100L, user));
         taskCheckScheduler.checkAllTaskStatuses();
-        assertTrue(nearly.isNearlyOverdueNotified());
-        verify(taskRepository).saveAll(anyList());
+        verify(taskRepository).markNearlyOverdueNotified(List.of(2L));
+        verify(taskRepository, never()).saveAll(anyList());
         verify(taskEventProducer, atLeastOnce()).sendTaskEvent(any(TaskEventDto.class));
     }
     @Test
-    @DisplayName("TaskNotificationException - checkAllTaskStatuses")
-    void userNotFound_shouldThrow() {
-        when(taskRepository.findByDueDateBeforeAndStatus(any(), eq(Status.NOT_COMPLETED)))
-                .thenReturn(List.of(task));
-        when(userServiceClient.getUserById(100L)).thenReturn(null);
+    @DisplayName("Missing user - checkAllTaskStatuses - the task becomes OVERDUE, the rest of the chunk is still sent")
+    void userNotFound_shouldMarkHandledAndContinue() {
+        // a chunk shorter than chunkSize ends the scan
+        ReflectionTestUtils.setField(taskCheckScheduler, "chunkSize", 10);
+        Task other = Task.builder().id(2L).userId(200L).title("Other")
+                .dueDate(task.getDueDate()).status(Status.NOT_COMPLETED).build();
+        UserDto otherUser = new UserDto();
+        otherUser.setId(200L);
+        otherUser.setEmail("other@example.com");
+        when(taskRepository.findOverdueChunk(any(), eq(Status.NOT_COMPLETED), eq(1L), eq(List.of(0L)), any(), any(), any()))
+                .thenReturn(List.of(task, other));
+        when(userServiceClient.getUsersByIds(Set.of(100L, 200L))).thenReturn(Map.of(200L, otherUser));
 
-        assertThrows(TaskNotificationException.class, () -> taskCheckScheduler.checkAllTaskStatuses());
+        assertDoesNotThrow(() -> taskCheckScheduler.checkAllTaskStatuses());
+
+        verify(taskRepository).updateStatusByIds(List.of(1L, 2L), Status.NOT_COMPLETED, Status.OVERDUE);
+        verify(taskEventProducer, times(1)).sendTaskEvent(argThat(event -> event.getTaskId().equals(2L)));
     }
 
     @Test
     @DisplayName("TaskEventPublishException - checkAllTaskStatuses")
     void taskEventProducerFails_shouldThrow() {
-        when(taskRepository.findByDueDateBeforeAndStatus(any(), eq(Status.NOT_COMPLETED)))
+        when(taskRepository.findOverdueChunk(any(), eq(Status.NOT_COMPLETED), eq(1L), eq(List.of(0L)), any(), any(), any()))
                 .thenReturn(List.of(task));
-        when(userServiceClient.getUserById(100L)).thenReturn(user);
+        when(userServiceClient.getUsersByIds(Set.of(100L))).thenReturn(Map.of(100L, user));
         doThrow(new TaskEventPublishException("fail")).when(taskEventProducer).sendTaskEvent(any());
 
         assertThrows(TaskEventPublishException.class, () -> taskCheckScheduler.checkAllTaskStatuses());
     }
     @Test
-    @DisplayName("Succeed - createRepeatTask - new repeat task is created and a notification is sent")
-    void createRepeatTask_shouldCreateAndNotify() {
+    @DisplayName("Succeed - overdue repeating task - moves to its next occurrence in place and sends a notification")
+    void overdueRepeatTask_shouldAdvanceAndNotify() {
+        LocalDateTime anchor = LocalDateTime.now().minusDays(40).withNano(0);
         Task repeatTask = Task.builder()
                 .id(3L)
                 .userId(100L)
                 .title("Repeatable")
                 .description("repeat desc")
                 .dueDate(LocalDateTime.now().minusMinutes(1))
+                .recurrenceAnchor(anchor)
                 .status(Status.NOT_COMPLETED)
                 .isRepeat(true)
                 .frequencyRepeat(Frequency_repeat.DAY)
                 .build();
+        LocalDateTime scannedDueDate = repeatTask.getDueDate();
 
-        when(taskRepository.findByDueDateBeforeAndStatus(any(), eq(Status.NOT_COMPLETED)))
+        when(taskRepository.findOverdueChunk(any(), eq(Status.NOT_COMPLETED), eq(1L), eq(List.of(0L)), any(), any(), any()))
                 .thenReturn(List.of(repeatTask));
-        when(userServiceClient.getUserById(100L)).thenReturn(user);
-
-        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> {
-            Task t = invocation.getArgument(0);
-            if (t.getId() == null) {
-                t.setId(999L);
-            }
-            return t;
-        });
+        when(userServiceClient.getUsersByIds(Set.of(100L))).thenReturn(Map.of(100L, user));
+        when(taskRepository.advanceOccurrence(eq(3L), eq(anchor), any(), eq(Status.NOT_COMPLETED))).thenReturn(1);
 
         taskCheckScheduler.checkAllTaskStatuses();
 
-        assertEquals(Status.OVERDUE, repeatTask.getStatus());
-        verify(taskRepository).saveAll(argThat(iterable -> {
-            List<Task> list = (List<Task>) iterable;
-            return list.stream()
-                    .anyMatch(t -> t.getId().equals(repeatTask.getId())
-                            && t.getStatus() == Status.OVERDUE);
-        }));
-        verify(taskRepository).save(argThat(t ->
-                !t.getId().equals(repeatTask.getId())
-                        && t.getTitle().equals("Repeatable")
-                        && t.getStatus() == Status.NOT_COMPLETED
-                        && t.isRepeat()
-        ));
+        ArgumentCaptor<LocalDateTime> next = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(taskRepository).advanceOccurrence(eq(3L), eq(anchor), next.capture(), eq(Status.NOT_COMPLETED));
+        assertTrue(next.getValue().isAfter(LocalDateTime.now().minusSeconds(1)));
+        assertTrue(next.getValue().isBefore(LocalDateTime.now().plusDays(1)));
+        assertEquals(anchor.toLocalTime(), next.getValue().toLocalTime());
+        assertEquals(scannedDueDate, repeatTask.getDueDate());
+        verify(taskRepository, never()).updateStatusByIds(anyList(), any(), any());
+        verify(taskRepository, never()).save(any(Task.class));
+        ArgumentCaptor<Object> changed = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(1)).publishEvent(changed.capture());
+        TaskChangedEvent rescheduled = (TaskChangedEvent) changed.getValue();
+        assertEquals(3L, rescheduled.taskId());
+        assertEquals(Status.NOT_COMPLETED, rescheduled.status());
+        assertEquals(next.getValue(), rescheduled.dueDate());
         verify(taskEventProducer, atLeastOnce()).sendTaskEvent(any(TaskEventDto.class));
     }
+    @Test
+    @DisplayName("No leased shards - checkAllTaskStatuses - skips the scan")
+    void noLeasedShards_shouldSkipScan() {
+        when(scanLeaseManager.currentScope()).thenReturn(new ScanScope(16, List.of()));
+
+        taskCheckScheduler.checkAllTaskStatuses();
+
+        verifyNoInteractions(taskRepository, userServiceClient, taskEventProducer);
+    }
+
+    @Test
+    @DisplayName("Succeed - checkAllTaskStatuses - walks overdue tasks in keyset chunks")
+    void overdueTasks_shouldBeScannedInChunks() {
+        Task second = Task.builder().id(2L).userId(100L).title("Second")
+                .dueDate(task.getDueDate()).status(Status.NOT_COMPLETED).build();
+        Task third = Task.builder().id(3L).userId(100L).title("Third")
+                .dueDate(task.getDueDate().plusMinutes(1)).status(Status.NOT_COMPLETED).build();
+        when(taskRepository.findOverdueChunk(any(), eq(Status.NOT_COMPLETED), eq(1L), eq(List.of(0L)),
+                any(), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(task, second));
+        when(taskRepository.findOverdueChunk(any(), eq(Status.NOT_COMPLETED), eq(1L), eq(List.of(0L)),
+                eq(second.getDueDate()), eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(third));
+        when(userServiceClient.getUsersByIds(Set.of(100L))).thenReturn(Map.of(100L, user));
+
+        taskCheckScheduler.checkAllTaskStatuses();
+
+        verify(taskRepository).updateStatusByIds(List.of(1L, 2L), Status.NOT_COMPLETED, Status.OVERDUE);
+        verify(userServiceClient, times(2)).getUsersByIds(Set.of(100L));
+        verify(userServiceClient, never()).getUserById(anyLong());
+        verify(taskRepository).updateStatusByIds(List.of(3L), Status.NOT_COMPLETED, Status.OVERDUE);
+        verify(taskRepository, times(2)).flushAndClear();
+    }
+    @Test
+    @DisplayName("Succeed - checkAllTaskStatuses - stops at max-per-tick")
+    void overdueTasks_shouldStopAtMaxPerTick() {
+        ReflectionTestUtils.setField(taskCheckScheduler, "maxPerTick", 2);
+        Task second = Task.builder().id(2L).userId(100L).title("Second")
+                .dueDate(task.getDueDate()).status(Status.NOT_COMPLETED).build();
+        when(taskRepository.findOverdueChunk(any(), eq(Status.NOT_COMPLETED), eq(1L), eq(List.of(0L)),
+                any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(task, second));
+        when(userServiceClient.getUsersByIds(Set.of(100L))).thenReturn(Map.of(100L, user));
+
+        taskCheckScheduler.checkAllTaskStatuses();
+
+        verify(taskRepository, times(1)).findOverdueChunk(any(), any(), anyLong(), anyList(), any(), any(), any());
+    }
+    @Test
+    @DisplayName("Pipelined - checkAllTaskStatuses - only acknowledged tasks become OVERDUE")
+    void pipelined_shouldTransitionOnlyAckedTasks() {
+        // a chunk shorter than chunkSize ends the scan
+        ReflectionTestUtils.setField(taskCheckScheduler, "chunkSize", 10);
+        ReflectionTestUtils.setField(chunkProcessor, "pipelined", true);
+        Task failing = Task.builder().id(2L).userId(200L).title("Failing")
+                .dueDate(task.getDueDate()).status(Status.NOT_COMPLETED).build();
+        UserDto other = new UserDto();
+        other.setId(200L);
+        other.setEmail("other@example.com");
+        when(taskRepository.findOverdueChunk(any(), eq(Status.NOT_COMPLETED), eq(1L), eq(List.of(0L)), any(), any(), any()))
+                .thenReturn(List.of(task, failing));
+        when(userServiceClient.getUsersByIds(Set.of(100L, 200L))).thenReturn(Map.of(100L, user, 200L, other));
+        SendResult<String, Object> ack = mock(SendResult.class);
+        when(taskEventProducer.sendTaskEventAsync(argThat(e -> e != null && e.getTaskId().equals(1L))))
+                .thenReturn(CompletableFuture.completedFuture(ack));
+        when(taskEventProducer.sendTaskEventAsync(argThat(e -> e != null && e.getTaskId().equals(2L))))
+                .thenReturn(CompletableFuture.failedFuture(new TaskEventPublishException("fail")));
+
+        taskCheckScheduler.checkAllTaskStatuses();
+
+        verify(taskRepository).updateStatusByIds(List.of(1L), Status.NOT_COMPLETED, Status.OVERDUE);
+        verify(taskEventProducer, times(2)).sendTaskEventAsync(any(TaskEventDto.class));
+        verify(taskEventProducer, never()).sendTaskEvent(any());
+    }
+    @Test
+    @DisplayName("Pipelined - checkAllTaskStatuses - task of a missing user is marked handled without a send")
+    void pipelined_missingUser_shouldMarkHandled() {
+        ReflectionTestUtils.setField(chunkProcessor, "pipelined", true);
+        Task nearly = Task.builder().id(2L).userId(100L).title("Soon overdue")
+                .dueDate(LocalDateTime.now().plusMinutes(10)).status(Status.NOT_COMPLETED).build();
+        when(taskRepository.findNearlyOverdueChunk(any(), any(), eq(Status.NOT_COMPLETED), eq(false), eq(1L), eq(List.of(0L)), any(), any(), any()))
+                .thenReturn(List.of(nearly));
+        when(userServiceClient.getUsersByIds(Set.of(100L))).thenReturn(Map.of());
+
+        taskCheckScheduler.checkAllTaskStatuses();
+
+        verify(taskRepository).markNearlyOverdueNotified(List.of(2L));
+        verifyNoInteractions(taskEventProducer);
+    }
+    @Test
+    @DisplayName("Outbox - checkAllTaskStatuses - task of a missing user becomes OVERDUE without an event")
+    void outbox_missingUser_shouldMarkHandled() {
+        ReflectionTestUtils.setField(chunkProcessor, "outboxEnabled", true);
+        when(taskRepository.findOverdueChunk(any(), eq(Status.NOT_COMPLETED), eq(1L), eq(List.of(0L)), any(), any(), any()))
+                .thenReturn(List.of(task));
+        when(userServiceClient.getUsersByIds(Set.of(100L))).thenReturn(Map.of());
+
+        taskCheckScheduler.checkAllTaskStatuses();
+
+        verify(taskRepository).updateStatusByIds(List.of(1L), Status.NOT_COMPLETED, Status.OVERDUE);
+        verify(outboxRepository).saveAll(List.of());
+        verifyNoInteractions(taskEventProducer);
+    }
+    @Test
+    @DisplayName("Outbox - checkAllTaskStatuses - events written with the transition, nothing sent to Kafka")
+    void outbox_shouldEnqueueEventsInsteadOfSending() throws Exception {
+        ReflectionTestUtils.setField(chunkProcessor, "outboxEnabled", true);
+        when(taskRepository.findOverdueChunk(any(), eq(Status.NOT_COMPLETED), eq(1L), eq(List.of(0L)), any(), any(), any()))
+                .thenReturn(List.of(task));
+        when(userServiceClient.getUsersByIds(Set.of(100L))).thenReturn(Map.of(100L, user));
+
+        taskCheckScheduler.checkAllTaskStatuses();
+
+        verify(taskRepository).updateStatusByIds(List.of(1L), Status.NOT_COMPLETED, Status.OVERDUE);
+        ArgumentCaptor<List<TaskEventOutbox>> rows = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository).saveAll(rows.capture());
+        assertEquals(1, rows.getValue().size());
+        TaskEventDto event = objectMapper.readValue(rows.getValue().get(0).getPayload(), TaskEventDto.class);
+        assertEquals(1L, event.getTaskId());
+        assertEquals("TASK_OVERDUE", event.getEventType());
+        assertEquals(Set.of("EMAIL", "TELEGRAM"), event.getChannels());
+        verifyNoInteractions(taskEventProducer);
+    }
+    @Test
+    @DisplayName("Message count - checkAllTaskStatuses - one event per overdue task carrying every channel")
+    void overdueTask_withBothChannels_shouldSendSingleEvent() {
+        // a chunk shorter than chunkSize ends the scan
+        ReflectionTestUtils.setField(taskCheckScheduler, "chunkSize", 10);
+        UserDto emailOnly = new UserDto();
+        emailOnly.setId(200L);
+        emailOnly.setEmail("other@example.com");
+        Task second = Task.builder().id(2L).userId(200L).title("Second")
+                .dueDate(task.getDueDate()).status(Status.NOT_COMPLETED).build();
+        when(taskRepository.findOverdueChunk(any(), eq(Status.NOT_COMPLETED), eq(1L), eq(List.of(0L)), any(), any(), any()))
+                .thenReturn(List.of(task, second));
+        when(userServiceClient.getUsersByIds(Set.of(100L, 200L))).thenReturn(Map.of(100L, user, 200L, emailOnly));
+
+        taskCheckScheduler.checkAllTaskStatuses();
+
+        ArgumentCaptor<TaskEventDto> events = ArgumentCaptor.forClass(TaskEventDto.class);
+        verify(taskEventProducer, times(2)).sendTaskEvent(events.capture());
+        TaskEventDto first = events.getAllValues().get(0);
+        assertEquals(1L, first.getTaskId());
+        assertEquals(Set.of("EMAIL", "TELEGRAM"), first.getChannels());
+        assertEquals("user@example.com", first.getRecipient());
+        assertEquals(12345L, first.getRecipientTelegramId());
+        assertEquals(Set.of("EMAIL"), events.getAllValues().get(1).getChannels());
+    }
 }
@@ -0,0 +1,51 @@
+package com.taskService.service;
+
+import com.taskService.model.ScanScope;
+import com.taskService.model.TaskEventOutbox;
+import com.taskService.repository.TaskEventOutboxRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskEventOutboxClaimerTest {
+    @Mock
+    private TaskEventOutboxRepository outboxRepository;
+    @InjectMocks
+    private TaskEventOutboxClaimer claimer;
+
+    @Test
+    @DisplayName("Succeed - claim - locked pending rows are claimed for the lease")
+    void claim_shouldLeaseRows() {
+        LocalDateTime now = LocalDateTime.of(2025, 11, 14, 10, 0);
+        TaskEventOutbox row = TaskEventOutbox.builder().id(1L).taskId(10L).userId(100L).build();
+        when(outboxRepository.findPending(1L, List.of(0L), now, PageRequest.of(0, 50))).thenReturn(List.of(row));
+
+        List<TaskEventOutbox> batch = claimer.claim(ScanScope.unsharded(), now, 50);
+
+        assertThat(batch).containsExactly(row);
+        assertThat(row.getClaimedUntil()).isEqualTo(now.plusMinutes(5));
+    }
+
+    @Test
+    @DisplayName("Succeed - finish - acknowledged rows are published, the rest released")
+    void finish_shouldPublishAndRelease() {
+        LocalDateTime now = LocalDateTime.now();
+
+        claimer.finish(List.of(1L, 3L), List.of(2L), now);
+
+        verify(outboxRepository).markPublished(List.of(1L, 3L), now);
+        verify(outboxRepository).releaseClaims(List.of(2L));
+    }
+}
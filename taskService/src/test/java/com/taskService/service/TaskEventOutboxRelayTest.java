@@ -0,0 +1,112 @@
+package com.taskService.service;
+
+import by.info_microservice.core.TaskEventDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskService.dto.TaskEventBatchResult;
+import com.taskService.model.ScanScope;
+import com.taskService.model.TaskEventOutbox;
+import com.taskService.repository.TaskEventOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskEventOutboxRelayTest {
+    @Mock
+    private TaskEventOutboxRepository outboxRepository;
+    @Mock
+    private TaskEventOutboxClaimer outboxClaimer;
+    @Mock
+    private TaskEventProducer taskEventProducer;
+    @Mock
+    private ScanLeaseManager scanLeaseManager;
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private TaskEventOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new TaskEventOutboxRelay(outboxRepository, outboxClaimer, taskEventProducer, scanLeaseManager, objectMapper);
+        ReflectionTestUtils.setField(relay, "enabled", true);
+        ReflectionTestUtils.setField(relay, "batchSize", 100);
+        lenient().when(scanLeaseManager.currentScope()).thenReturn(ScanScope.unsharded());
+    }
+
+    private TaskEventOutbox row(long id, long taskId, String eventType) throws Exception {
+        TaskEventDto event = TaskEventDto.builder()
+                .taskId(taskId)
+                .userId(100L)
+                .channels(Set.of("EMAIL", "TELEGRAM"))
+                .eventType(eventType)
+                .createdAt(LocalDateTime.now())
+                .build();
+        return TaskEventOutbox.builder()
+                .id(id)
+                .taskId(taskId)
+                .userId(100L)
+                .payload(objectMapper.writeValueAsString(event))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private void acknowledgeAllExcept(Set<String> failedEventTypes) {
+        when(taskEventProducer.sendTaskEvents(anyCollection())).thenAnswer(inv -> {
+            List<TaskEventDto> events = List.copyOf(inv.<Collection<TaskEventDto>>getArgument(0));
+            return CompletableFuture.completedFuture(new TaskEventBatchResult(
+                    events.stream().filter(event -> !failedEventTypes.contains(event.getEventType())).toList(),
+                    events.stream().filter(event -> failedEventTypes.contains(event.getEventType())).toList()));
+        });
+    }
+
+    @Test
+    @DisplayName("Succeed - relay - publishes claimed events one per task per round and marks them published")
+    void relay_shouldPublishAndMark() throws Exception {
+        when(outboxClaimer.claim(eq(ScanScope.unsharded()), any(), eq(100)))
+                .thenReturn(List.of(row(1L, 10L, "TASK_SOON_OVERDUE"), row(2L, 10L, "TASK_OVERDUE"), row(3L, 20L, "TASK_OVERDUE")));
+        acknowledgeAllExcept(Set.of());
+
+        relay.relay();
+
+        InOrder rounds = inOrder(taskEventProducer);
+        rounds.verify(taskEventProducer).sendTaskEvents(argThat(events -> events.size() == 2));
+        rounds.verify(taskEventProducer).sendTaskEvents(argThat(events -> events.size() == 1));
+        verify(outboxClaimer).finish(eq(List.of(1L, 3L, 2L)), eq(List.of()), any());
+        verifyNoInteractions(outboxRepository);
+    }
+
+    @Test
+    @DisplayName("Failure - relay - a failed send holds back the task's later events unsent")
+    void relay_failedSend_shouldKeepPerTaskOrder() throws Exception {
+        when(outboxClaimer.claim(eq(ScanScope.unsharded()), any(), eq(100)))
+                .thenReturn(List.of(row(1L, 10L, "TASK_SOON_OVERDUE"), row(2L, 10L, "TASK_OVERDUE"), row(3L, 20L, "TASK_OVERDUE")));
+        acknowledgeAllExcept(Set.of("TASK_SOON_OVERDUE"));
+
+        relay.relay();
+
+        verify(taskEventProducer, times(1)).sendTaskEvents(argThat(events -> events.size() == 2));
+        verify(outboxClaimer).finish(eq(List.of(3L)), eq(List.of(1L, 2L)), any());
+    }
+
+    @Test
+    @DisplayName("No leased shards - relay - nothing is read")
+    void relay_noScope_shouldSkip() {
+        when(scanLeaseManager.currentScope()).thenReturn(new ScanScope(16, List.of()));
+
+        relay.relay();
+
+        verifyNoInteractions(outboxRepository, outboxClaimer, taskEventProducer);
+    }
+}
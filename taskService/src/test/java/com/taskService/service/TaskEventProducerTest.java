@@ -2,6 +2,7 @@ package com.taskService.service;
 
 import by.info_microservice.core.TaskEventDto;
 import com.sun.source.util.TaskEvent;
+import com.taskService.dto.TaskEventBatchResult;
 import com.taskService.exception.TaskEventPublishException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,10 +15,11 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
-import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.times;
@@ -45,7 +47,7 @@ public class TaskEventProducerTest {
                 .title("title")
                 .description("description")
                 .createdAt(LocalDateTime.now())
-                .channel("TELEGRAM")
+                .channels(Set.of("TELEGRAM", "EMAIL"))
                 .message("message")
                 .status("SEND")
                 .build();
@@ -74,4 +76,40 @@ public class TaskEventProducerTest {
         verify(kafkaTemplate,times(1)).send(eq(TOPIC), eq(KEY), eq(event));
 
     }
+    @Test
+    @DisplayName("Success - sendTaskEventAsync returns the send future without blocking")
+    void sendTaskEventAsync() {
+        CompletableFuture<SendResult<String, Object>> pending = new CompletableFuture<>();
+        when(kafkaTemplate.send(eq(TOPIC), eq(KEY), eq(event))).thenReturn(pending);
+
+        CompletableFuture<SendResult<String, Object>> result = producer.sendTaskEventAsync(event);
+
+        assertSame(pending, result);
+        assertFalse(result.isDone());
+    }
+    @Test
+    @DisplayName("Failure - sendTaskEventAsync returns a failed future when send throws")
+    void sendTaskEventAsync_sendThrows() {
+        when(kafkaTemplate.send(eq(TOPIC), eq(KEY), eq(event))).thenThrow(new RuntimeException("Kafka fails"));
+
+        CompletableFuture<SendResult<String, Object>> result = producer.sendTaskEventAsync(event);
+
+        assertTrue(result.isCompletedExceptionally());
+    }
+    @Test
+    @DisplayName("Partial failure - sendTaskEvents splits acknowledged and failed events")
+    void sendTaskEvents_partialFailure() {
+        TaskEventDto second = TaskEventDto.builder().taskId(200L).userId(USER_ID).channels(Set.of("EMAIL")).build();
+        SendResult<String, Object> sendResult = mock(SendResult.class);
+        CompletableFuture<SendResult<String, Object>> fail = new CompletableFuture<>();
+        fail.completeExceptionally(new RuntimeException("Kafka fails"));
+        when(kafkaTemplate.send(eq(TOPIC), eq(KEY), eq(event))).thenReturn(CompletableFuture.completedFuture(sendResult));
+        when(kafkaTemplate.send(eq(TOPIC), eq("200"), eq(second))).thenReturn(fail);
+
+        TaskEventBatchResult result = producer.sendTaskEvents(List.of(event, second)).join();
+
+        assertEquals(List.of(event), result.acknowledged());
+        assertEquals(List.of(second), result.failed());
+        assertFalse(result.allAcknowledged());
+    }
 }
@@ -0,0 +1,73 @@
+package com.taskService.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskService.dto.TaskChangedEvent;
+import com.taskService.dto.TaskResponseDto;
+import com.taskService.model.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskListCacheTest {
+    private TaskListCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cache = new TaskListCache(Caffeine.newBuilder().maximumSize(100).build());
+        ReflectionTestUtils.setField(cache, "enabled", true);
+    }
+
+    private Page<TaskResponseDto> load() {
+        loads.incrementAndGet();
+        return new PageImpl<>(List.of(TaskResponseDto.builder().id((long) loads.get()).build()));
+    }
+
+    @Test
+    @DisplayName("Hit - get - same user and shape is loaded once")
+    void get_shouldReadThrough() {
+        cache.get(1L, "all|0|10", this::load);
+        cache.get(1L, "all|0|10", this::load);
+        cache.get(1L, "all|1|10", this::load);
+        cache.get(2L, "all|0|10", this::load);
+
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Invalidate - onTaskChanged - drops every page of that user only")
+    void onTaskChanged_shouldInvalidateUser() {
+        cache.get(1L, "all|0|10", this::load);
+        cache.get(1L, "archived|0|10", this::load);
+        cache.get(2L, "all|0|10", this::load);
+
+        cache.onTaskChanged(new TaskChangedEvent(5L, 1L, null, Status.COMPLETED, false, false));
+        cache.get(1L, "all|0|10", this::load);
+        cache.get(1L, "archived|0|10", this::load);
+        cache.get(2L, "all|0|10", this::load);
+
+        assertThat(loads.get()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Invalidate - a page loaded while its user changed is not served afterwards")
+    void get_invalidatedDuringLoad_shouldNotBeServed() {
+        cache.get(1L, "all|0|10", () -> {
+            cache.invalidate(1L);
+            return load();
+        });
+
+        Page<TaskResponseDto> page = cache.get(1L, "all|0|10", this::load);
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(page.getContent().get(0).getId()).isEqualTo(2L);
+    }
+}
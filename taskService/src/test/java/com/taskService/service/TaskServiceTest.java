@@ -11,24 +11,35 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.mapping.PropertyReferenceException;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.util.ReflectionTestUtils;
 
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
@@ -38,6 +49,10 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 class TaskServiceTest {
     @Mock
     private TaskRepository taskRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private TaskListCache taskListCache;
 
     @InjectMocks
     private TaskService taskService;
@@ -50,6 +65,8 @@ class TaskServiceTest {
     private Task repeatingTask;
     @BeforeEach
     void setUp() {
+        lenient().when(taskListCache.get(any(), any(), any()))
+                .thenAnswer(inv -> inv.<Supplier<Page<TaskResponseDto>>>getArgument(2).get());
         task = new Task();
         task.setId(1L);
         task.setUserId(1L);
@@ -114,25 +131,45 @@ class TaskServiceTest {
         assertThrows(AccessDeniedException.class, () -> taskService.getTaskById(1L, 2L));
         verify(taskRepository, times(1)).findById(1L);
     }
+    private TaskResponseDto toDto(Task task) {
+        return new TaskResponseDto(task.getId(), task.getUserId(), task.getTitle(), task.getDescription(), task.getDate(),
+                task.getDueDate(), task.getStatus(), task.getPriority(), task.isRepeat(), task.getFrequencyRepeat());
+    }
     @Test
     @DisplayName("Success - getAllTasks")
     void successGetAllTasks() {
-        Page<Task> taskPage = new PageImpl<>(taskList, pageable, taskList.size());
-        when(taskRepository.findAllByUserId(userId,pageable)).thenReturn(taskPage);
+        Page<TaskResponseDto> taskPage = new PageImpl<>(taskList.stream().map(this::toDto).toList(), pageable, taskList.size());
+        when(taskRepository.findDtoByUserId(userId,pageable)).thenReturn(taskPage);
 
-        Page<TaskResponseDto> result = taskService.getAllTasks(userId, pageable);
+        Page<TaskResponseDto> result = taskService.getAllTasks(userId, pageable, true);
 
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(2);
         assertThat(result.getContent().get(0).getTitle()).isEqualTo("Task A");
         assertThat(result.getTotalElements()).isEqualTo(2);
-        verify(taskRepository, times(1)).findAllByUserId(userId,pageable);
+        verify(taskRepository, times(1)).findDtoByUserId(userId,pageable);
+    }
+    @Test
+    @DisplayName("Success - getAllTasks - list view without descriptions")
+    void successGetAllTasksSummary() {
+        when(taskRepository.findSummaryByUserId(userId, pageable)).thenReturn(Page.empty(pageable));
+
+        taskService.getAllTasks(userId, pageable, false);
+
+        verify(taskRepository, never()).findDtoByUserId(any(), any());
+    }
+    @Test
+    @DisplayName("Failure - getAllTasks - unknown sort property")
+    void failureGetAllTasksUnknownSort() {
+        assertThrows(PropertyReferenceException.class,
+                () -> taskService.getAllTasks(userId, PageRequest.of(0, 10, Sort.by("invalid")), true));
+        verifyNoInteractions(taskRepository);
     }
     @Test
     @DisplayName("Success - searchTasks")
     void searchTasks_Success() {
         String keyword = "Task A";
-        Page<Task> taskPage = new PageImpl<>(List.of(taskList.get(0)), pageable, 1);
+        Page<TaskResponseDto> taskPage = new PageImpl<>(List.of(toDto(taskList.get(0))), pageable, 1);
         when(taskRepository.searchByKeyword(userId, keyword, pageable)).thenReturn(taskPage);
 
         Page<TaskResponseDto> result = taskService.searchTasks(userId, keyword, pageable);
@@ -144,6 +181,35 @@ class TaskServiceTest {
         verify(taskRepository, times(1)).searchByKeyword(userId, keyword, pageable);
     }
     @Test
+    @DisplayName("Success - searchTasks - fulltext mode ranks by relevance with prefix terms")
+    void searchTasks_fullText_usesBooleanPrefixQuery() {
+        ReflectionTestUtils.setField(taskService, "searchMode", "fulltext");
+        Pageable sorted = PageRequest.of(1, 10, Sort.by("dueDate"));
+        Page<TaskResponseDto> taskPage = new PageImpl<>(List.of(toDto(taskList.get(0))), PageRequest.of(1, 10), 11);
+        when(taskRepository.searchByFullText(userId, "+quarter* +report*", PageRequest.of(1, 10))).thenReturn(taskPage);
+
+        Page<TaskResponseDto> result = taskService.searchTasks(userId, "Quarter REPORT, quarter", sorted);
+
+        assertThat(result.getContent()).hasSize(1);
+        verify(taskRepository, never()).searchByKeyword(any(), any(), any());
+    }
+    @Test
+    @DisplayName("Fallback - searchTasks - terms too short for the full-text index use LIKE")
+    void searchTasks_fullText_shortTermsFallBackToLike() {
+        ReflectionTestUtils.setField(taskService, "searchMode", "fulltext");
+        when(taskRepository.searchByKeyword(userId, "a*", pageable)).thenReturn(Page.empty(pageable));
+
+        taskService.searchTasks(userId, "a*", pageable);
+
+        verify(taskRepository, never()).searchByFullText(any(), any(), any());
+    }
+    @Test
+    @DisplayName("toBooleanQuery - boolean operators in user input are stripped")
+    void toBooleanQuery_stripsOperators() {
+        assertEquals("+deploy* +prod*", taskService.toBooleanQuery("-deploy \"prod\" @>~"));
+        assertEquals("", taskService.toBooleanQuery(null));
+    }
+    @Test
     @DisplayName("Success - createTask")
     void successCreateTask() {
         when(taskRepository.save(any(Task.class))).thenReturn(task);
@@ -152,6 +218,7 @@ class TaskServiceTest {
         assertThat(result.getTitle()).isEqualTo(task.getTitle());
         assertThat(result.getDescription()).isEqualTo(task.getDescription());
         verify(taskRepository, times(1)).save(any(Task.class));
+        verify(eventPublisher).publishEvent(TaskChangedEvent.of(task));
     }
     @Test
     @DisplayName("Success - updateTask")
@@ -213,6 +280,68 @@ class TaskServiceTest {
         verify(taskRepository, never()).save(any(Task.class));
     }
     @Test
+    @DisplayName("Success - updateStatus - completing a repeating task materializes the occurrence")
+    void successUpdateStatus_completesOccurrence() {
+        LocalDateTime due = LocalDateTime.of(2030, 1, 31, 9, 0);
+        Task series = Task.builder().id(10L).userId(userId).title("Pay rent").description("d")
+                .status(Status.NOT_COMPLETED).priority(Priority.HIGH).dueDate(due).recurrenceAnchor(due)
+                .isRepeat(true).frequencyRepeat(Frequency_repeat.MONTH).parentTaskId(10L).build();
+        UpdateStatusRequestDto dto = new UpdateStatusRequestDto();
+        dto.setStatus(Status.COMPLETED);
+        when(taskRepository.findById(10L)).thenReturn(Optional.of(series));
+        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> {
+            Task saved = inv.getArgument(0);
+            if (saved.getId() == null) {
+                saved.setId(11L);
+            }
+            return saved;
+        });
+
+        var result = taskService.updateStatus(10L, dto, userId);
+
+        assertThat(result.getId()).isEqualTo(11L);
+        assertThat(result.getStatus()).isEqualTo(Status.COMPLETED);
+        assertThat(result.getDueDate()).isEqualTo(due);
+        assertThat(result.isRepeat()).isFalse();
+        assertThat(series.getStatus()).isEqualTo(Status.NOT_COMPLETED);
+        assertThat(series.getDueDate()).isEqualTo(LocalDateTime.of(2030, 2, 28, 9, 0));
+        verify(eventPublisher, times(2)).publishEvent(any(TaskChangedEvent.class));
+    }
+    @Test
+    @DisplayName("Success - getOccurrences - merges computed and materialized occurrences")
+    void successGetOccurrences() {
+        LocalDateTime anchor = LocalDateTime.of(2030, 1, 1, 9, 0);
+        Task series = Task.builder().id(10L).userId(userId).title("Standup").status(Status.NOT_COMPLETED)
+                .priority(Priority.LOW).dueDate(anchor.plusDays(3)).recurrenceAnchor(anchor)
+                .isRepeat(true).frequencyRepeat(Frequency_repeat.DAY).parentTaskId(10L).build();
+        Task completed = Task.builder().id(11L).userId(userId).title("Standup").status(Status.COMPLETED)
+                .priority(Priority.LOW).dueDate(anchor.plusDays(1)).parentTaskId(10L).build();
+        LocalDateTime from = anchor;
+        LocalDateTime to = anchor.plusDays(4);
+        when(taskRepository.findById(10L)).thenReturn(Optional.of(series));
+        when(taskRepository.findSeriesRules(eq(10L), eq(userId), any())).thenReturn(List.of(series));
+        when(taskRepository.findMaterializedOccurrences(10L, userId, 10L, from, to)).thenReturn(List.of(completed));
+
+        List<TaskOccurrenceDto> result = taskService.getOccurrences(10L, userId, from, to);
+
+        assertThat(result).extracting(TaskOccurrenceDto::getStatus).containsExactly(
+                Status.OVERDUE, Status.COMPLETED, Status.OVERDUE, Status.NOT_COMPLETED, Status.NOT_COMPLETED);
+        assertThat(result).extracting(TaskOccurrenceDto::getTaskId).containsExactly(null, 11L, null, 10L, null);
+    }
+    @Test
+    @DisplayName("IllegalArgumentException - getOccurrences - window holds too many occurrences")
+    void illegalArgumentGetOccurrences_WindowTooLarge() {
+        LocalDateTime anchor = LocalDateTime.of(2030, 1, 1, 0, 0);
+        Task series = Task.builder().id(10L).userId(userId).status(Status.NOT_COMPLETED).dueDate(anchor)
+                .isRepeat(true).frequencyRepeat(Frequency_repeat.HOUR).build();
+        when(taskRepository.findById(10L)).thenReturn(Optional.of(series));
+        when(taskRepository.findSeriesRules(eq(10L), eq(userId), any())).thenReturn(List.of(series));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.getOccurrences(10L, userId, anchor, anchor.plusYears(1)));
+        verify(taskRepository, never()).findMaterializedOccurrences(any(), any(), any(), any(), any());
+    }
+    @Test
     @DisplayName("Success - updatePriority")
     void successUpdatePriority() {
         UpdatePriorityRequestDto dto = new UpdatePriorityRequestDto();
@@ -287,8 +416,8 @@ class TaskServiceTest {
     @Test
     @DisplayName("Success - getArchivedTasks")
     void successGetArchivedTasks() {
-        Page<Task> taskPage = new PageImpl<>(List.of(task), pageable, 1);
-        when(taskRepository.findAllByUserIdAndStatus(userId, Status.ARCHIVED, pageable)).thenReturn(taskPage);
+        Page<TaskResponseDto> taskPage = new PageImpl<>(List.of(toDto(task)), pageable, 1);
+        when(taskRepository.findDtoByUserIdAndStatus(userId, Status.ARCHIVED, pageable)).thenReturn(taskPage);
 
         Page<TaskResponseDto> result = taskService.getArchivedTasks(userId, pageable);
 
@@ -296,33 +425,47 @@ class TaskServiceTest {
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getId()).isEqualTo(task.getId());
 
-        verify(taskRepository, times(1)).findAllByUserIdAndStatus(userId, Status.ARCHIVED, pageable);
+        verify(taskRepository, times(1)).findDtoByUserIdAndStatus(userId, Status.ARCHIVED, pageable);
     }
     @Test
     @DisplayName("Success - archiveTaskSeries")
     void successArchiveTaskSeries() {
         Task child1 = Task.builder().id(11L).userId(userId).status(Status.ARCHIVED).isRepeat(true).parentTaskId(10L).build();
         Task child2 = Task.builder().id(12L).userId(userId).status(Status.ARCHIVED).isRepeat(true).parentTaskId(10L).build();
-        List<Task> series = List.of(repeatingTask, child1, child2);
+        repeatingTask.setStatus(Status.ARCHIVED);
 
         when(taskRepository.findById(10L)).thenReturn(Optional.of(repeatingTask));
-        when(taskRepository.findRepeatGroupTasks(10L, userId)).thenReturn(series);
-        when(taskRepository.saveAll(anyList())).thenReturn(series.stream()
-                .peek(t -> t.setStatus(Status.ARCHIVED))
-                .collect(Collectors.toList()));
+        when(taskRepository.updateRepeatGroupStatus(10L, userId, Status.ARCHIVED)).thenReturn(3);
+        when(taskRepository.findRepeatGroupDtos(10L, userId))
+                .thenReturn(List.of(toDto(repeatingTask), toDto(child1), toDto(child2)));
 
         List<TaskResponseDto> results = taskService.archiveTaskSeries(10L, userId);
 
         assertThat(results).hasSize(3);
         assertThat(results.stream().allMatch(r -> r.getStatus() == Status.ARCHIVED)).isTrue();
-        verify(taskRepository, times(1)).saveAll(anyList());
+        verify(taskRepository, times(1)).updateRepeatGroupStatus(10L, userId, Status.ARCHIVED);
+        verify(taskRepository, never()).saveAll(anyList());
+    }
+    @Test
+    @DisplayName("Success - archiveTaskSeriesSummary - returns the count without reading the series")
+    void successArchiveTaskSeriesSummary() {
+        Task child = Task.builder().id(11L).userId(userId).status(Status.NOT_COMPLETED).isRepeat(true).parentTaskId(10L).build();
+        when(taskRepository.findById(11L)).thenReturn(Optional.of(child));
+        when(taskRepository.updateRepeatGroupStatus(10L, userId, Status.ARCHIVED)).thenReturn(1440);
+
+        SeriesSummaryDto summary = taskService.archiveTaskSeriesSummary(11L, userId);
+
+        assertThat(summary.getSeriesId()).isEqualTo(10L);
+        assertThat(summary.getAffectedTasks()).isEqualTo(1440);
+        verify(taskRepository, never()).findRepeatGroupDtos(any(), any());
+        verify(eventPublisher, times(1)).publishEvent(any(TaskChangedEvent.class));
     }
     @Test
     @DisplayName("ResourceNotFoundException - archiveTaskSeries - initial task not found")
     void resourceNotFoundArchiveTaskSeries() {
         when(taskRepository.findById(99L)).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> taskService.archiveTaskSeries(99L, userId));
-        verify(taskRepository, never()).saveAll(anyList());
+        verify(taskRepository, never()).updateRepeatGroupStatus(any(), any(), any());
     }
 
     @Test
@@ -330,7 +473,7 @@ class TaskServiceTest {
     void securityExceptionArchiveTaskSeries() {
         when(taskRepository.findById(10L)).thenReturn(Optional.of(repeatingTask));
         assertThrows(SecurityException.class, () -> taskService.archiveTaskSeries(10L, 99L));
-        verify(taskRepository, never()).saveAll(anyList());
+        verify(taskRepository, never()).updateRepeatGroupStatus(any(), any(), any());
     }
     @Test
     @DisplayName("Success - deleteTask")
@@ -374,34 +517,48 @@ class TaskServiceTest {
     @DisplayName("Success - deleteRepeatTaskSeries")
     void successDeleteRepeatTaskSeries() {
         Task parentArchived = Task.builder().id(10L).userId(userId).status(Status.ARCHIVED).isRepeat(true).parentTaskId(null).build();
-        Task childArchived = Task.builder().id(11L).userId(userId).status(Status.ARCHIVED).isRepeat(true).parentTaskId(10L).build();
-        List<Task> archivedSeries = List.of(parentArchived, childArchived);
 
         when(taskRepository.findById(10L)).thenReturn(Optional.of(parentArchived));
-        when(taskRepository.findRepeatGroupTasks(10L, userId)).thenReturn(archivedSeries);
+        Task childArchived = Task.builder().id(11L).userId(userId).status(Status.ARCHIVED).parentTaskId(10L).build();
+        when(taskRepository.lockRepeatGroup(10L, userId)).thenReturn(List.of(parentArchived, childArchived));
+        when(taskRepository.deleteRepeatGroupInStatus(10L, userId, Status.ARCHIVED)).thenReturn(2);
 
-        taskService.deleteRepeatTaskSeries(10L, userId);
+        SeriesSummaryDto summary = taskService.deleteRepeatTaskSeries(10L, userId);
 
-        verify(taskRepository, times(1)).deleteAllInBatch(archivedSeries);
+        assertThat(summary.getAffectedTasks()).isEqualTo(2);
+        InOrder inOrder = inOrder(taskRepository);
+        inOrder.verify(taskRepository).lockRepeatGroup(10L, userId);
+        inOrder.verify(taskRepository).deleteRepeatGroupInStatus(10L, userId, Status.ARCHIVED);
+        verify(taskRepository, never()).deleteAllInBatch(anyList());
     }
     @Test
     @DisplayName("IllegalStateException - deleteRepeatTaskSeries - not all ARCHIVED)")
     void illegalStateDeleteRepeatTaskSeries_NotAllArchived() {
         Task parentArchived = Task.builder().id(10L).userId(userId).status(Status.ARCHIVED).isRepeat(true).parentTaskId(null).build();
-        Task childActive = Task.builder().id(11L).userId(userId).status(Status.NOT_COMPLETED).isRepeat(true).parentTaskId(10L).build();
-        List<Task> mixedSeries = List.of(parentArchived, childActive);
 
         when(taskRepository.findById(10L)).thenReturn(Optional.of(parentArchived));
-        when(taskRepository.findRepeatGroupTasks(10L, userId)).thenReturn(mixedSeries);
+        Task childActive = Task.builder().id(11L).userId(userId).status(Status.NOT_COMPLETED).parentTaskId(10L).build();
+        when(taskRepository.lockRepeatGroup(10L, userId)).thenReturn(List.of(parentArchived, childActive));
         assertThrows(IllegalStateException.class, () -> taskService.deleteRepeatTaskSeries(10L, userId));
-        verify(taskRepository, never()).deleteAllInBatch(anyList());
+        verify(taskRepository, never()).deleteRepeatGroupInStatus(any(), any(), any());
+    }
+    @Test
+    @DisplayName("ResourceNotFoundException - deleteRepeatTaskSeries - nothing deleted")
+    void resourceNotFoundDeleteRepeatTaskSeries() {
+        Task parentArchived = Task.builder().id(10L).userId(userId).status(Status.ARCHIVED).isRepeat(true).parentTaskId(null).build();
+
+        when(taskRepository.findById(10L)).thenReturn(Optional.of(parentArchived));
+        when(taskRepository.lockRepeatGroup(10L, userId)).thenReturn(List.of());
+        assertThrows(ResourceNotFoundException.class, () -> taskService.deleteRepeatTaskSeries(10L, userId));
+        verify(taskRepository, never()).deleteRepeatGroupInStatus(any(), any(), any());
+        verify(eventPublisher, never()).publishEvent(any(TaskChangedEvent.class));
     }
     @Test
     @DisplayName("AccessDeniedException - deleteRepeatTaskSeries")
     void accessDeniedDeleteRepeatTaskSeries() {
         when(taskRepository.findById(10L)).thenReturn(Optional.of(repeatingTask));
         assertThrows(AccessDeniedException.class, () -> taskService.deleteRepeatTaskSeries(10L, 99L));
-        verify(taskRepository, never()).deleteAllInBatch(anyList());
+        verify(taskRepository, never()).deleteRepeatGroupInStatus(any(), any(), any());
     }
     @Test
     @DisplayName("Success - deleteTasksBulk")
@@ -448,11 +605,12 @@ class TaskServiceTest {
         task.setStatus(Status.COMPLETED);
         task.setPriority(Priority.HIGH);
         task.setUserId(userId);
-        when(taskRepository.findAll(any(Specification.class))).thenReturn(List.of(task));
+        when(taskRepository.findDtoBy(any(Specification.class), eq(Sort.unsorted()))).thenReturn(List.of(toDto(task)));
         var result = taskService.filterTasks(userId,Status.COMPLETED,null,null,Priority.HIGH);
         assertThat(result).isNotNull();
         assertThat(result).hasSize(1);
-        verify(taskRepository, times(1)).findAll(any(Specification.class));
+        verify(taskRepository, times(1)).findDtoBy(any(Specification.class), eq(Sort.unsorted()));
+        verify(taskRepository, never()).findAll(any(Specification.class));
     }
     @Test
     @DisplayName("Success - filterTasks by date range")
@@ -460,7 +618,7 @@ class TaskServiceTest {
         task.setDate(LocalDateTime.of(2023, 1, 5, 10, 0));
         task.setUserId(userId);
 
-        when(taskRepository.findAll(any(Specification.class))).thenReturn(List.of(task));
+        when(taskRepository.findDtoBy(any(Specification.class), eq(Sort.unsorted()))).thenReturn(List.of(toDto(task)));
 
         var result = taskService.filterTasks(
                 userId,
@@ -473,10 +631,145 @@ class TaskServiceTest {
         assertThat(result).isNotNull();
         assertThat(result).hasSize(1);
 
-        verify(taskRepository, times(1)).findAll(any(Specification.class));
+        verify(taskRepository, times(1)).findDtoBy(any(Specification.class), eq(Sort.unsorted()));
+    }
+    @Test
+    @DisplayName("Success - filterTasksAfter returns a cursor while more rows follow")
+    void successFilterTasksAfter() {
+        Task task3 = Task.builder().id(3L).userId(userId).title("Task C").status(Status.NOT_COMPLETED).build();
+        when(taskRepository.findDtoBy(any(Specification.class), eq(Sort.by("id")), eq(3)))
+                .thenReturn(List.of(toDto(taskList.get(0)), toDto(taskList.get(1)), toDto(task3)));
+
+        var result = taskService.filterTasksAfter(userId, null, null, null, null, null, 2);
+
+        assertThat(result.getContent()).hasSize(2);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(TaskCursor.decode(result.getNextCursor())).isEqualTo(2L);
+    }
+    @Test
+    @DisplayName("Success - filterTasksAfter last page has no cursor")
+    void successFilterTasksAfterLastPage() {
+        when(taskRepository.findDtoBy(any(Specification.class), eq(Sort.by("id")), eq(3)))
+                .thenReturn(taskList.stream().map(this::toDto).toList());
+
+        var result = taskService.filterTasksAfter(userId, null, null, null, null, TaskCursor.encode(0L), 2);
+
+        assertThat(result.getContent()).hasSize(2);
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+    }
+    @Test
+    @DisplayName("Failure - filterTasksAfter rejects a malformed cursor")
+    void failureFilterTasksAfterInvalidCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.filterTasksAfter(userId, null, null, null, null, "bm90LWEtY3Vyc29y", 2));
+        verifyNoInteractions(taskRepository);
     }
+    @Test
+    @DisplayName("Success - getAllTasksAfter keys the cursor on the sort values plus id, without a count")
+    void successGetAllTasksAfter() {
+        Task task3 = Task.builder().id(3L).userId(userId).title("Task C").status(Status.NOT_COMPLETED).build();
+        Sort keyset = Sort.by(Sort.Order.desc("priority"), Sort.Order.asc("id"));
+        when(taskRepository.findPageAfter(any(), eq(keyset), isNull(), eq(3)))
+                .thenReturn(List.of(toDto(taskList.get(0)), toDto(taskList.get(1)), toDto(task3)));
+
+        var result = taskService.getAllTasksAfter(userId, Sort.by(Sort.Order.desc("priority")), null, 2, false);
 
+        assertThat(result.getContent()).hasSize(2);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(result.getTotalElements()).isNull();
+        assertThat(TaskCursor.decode(result.getNextCursor(), keyset)).containsExactly("MEDIUM", "2");
+        verify(taskRepository, never()).countByUserId(any());
+    }
+    @Test
+    @DisplayName("Success - getAllTasksAfter records in the cursor that the page reached the NULL due dates")
+    void successGetAllTasksAfterNullPhase() {
+        Task undated = Task.builder().id(7L).userId(userId).title("Task G").status(Status.NOT_COMPLETED).build();
+        Sort keyset = Sort.by(Sort.Order.asc("dueDate"), Sort.Order.asc("id"));
+        when(taskRepository.findPageAfter(any(), eq(keyset), isNull(), eq(2)))
+                .thenReturn(List.of(toDto(undated), toDto(taskList.get(0))));
 
+        var result = taskService.getAllTasksAfter(userId, Sort.by("dueDate"), null, 1, false);
 
-}
+        String json = new String(Base64.getUrlDecoder().decode(result.getNextCursor()), StandardCharsets.UTF_8);
+        assertThat(json).contains("\"phase\":\"nulls\"");
+        assertThat(TaskCursor.decode(result.getNextCursor(), keyset)).containsExactly(null, "7");
+    }
+    @Test
+    @DisplayName("Failure - getAllTasksAfter rejects a cursor whose phase contradicts its values")
+    void failureGetAllTasksAfterPhaseMismatch() {
+        String json = "{\"v\":\"v2\",\"sort\":\"dueDate:ASC,id:ASC\",\"phase\":\"nulls\",\"values\":[\"2025-01-01T00:00\",\"7\"]}";
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
 
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.getAllTasksAfter(userId, Sort.by("dueDate"), cursor, 2, false));
+        verifyNoInteractions(taskRepository);
+    }
+    @Test
+    @DisplayName("Failure - getAllTasksAfter rejects a cursor issued for another sort")
+    void failureGetAllTasksAfterSortMismatch() {
+        String cursor = TaskCursor.encode(Sort.by("title", "id"), toDto(taskList.get(0)));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.getAllTasksAfter(userId, Sort.by("dueDate"), cursor, 2, true));
+        verifyNoInteractions(taskRepository);
+    }
+    @Test
+    @DisplayName("Success - createTasksBulk - one save per task, periodic flushes, series roots point at themselves")
+    void successCreateTasksBulk() {
+        ReflectionTestUtils.setField(taskService, "bulkFlushSize", 2);
+        TaskRequestDto repeating = TaskRequestDto.builder().title("Repeat").description("d").priority(Priority.LOW)
+                .status(Status.NOT_COMPLETED).dueDate(LocalDateTime.now().plusDays(1))
+                .isRepeat(true).frequency_repeat(Frequency_repeat.DAY).build();
+        long[] ids = {100};
+        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> {
+            Task t = inv.getArgument(0);
+            t.setId(ids[0]++);
+            return t;
+        });
+
+        var result = taskService.createTasksBulk(List.of(taskRequestDto, repeating, taskRequestDto), userId);
+
+        assertThat(result).extracting(TaskResponseDto::getId).containsExactly(100L, 101L, 102L);
+        ArgumentCaptor<Task> saved = ArgumentCaptor.forClass(Task.class);
+        verify(taskRepository, times(3)).save(saved.capture());
+        assertThat(saved.getAllValues().get(1).getParentTaskId()).isEqualTo(101L);
+        assertThat(saved.getAllValues().get(0).getParentTaskId()).isNull();
+        verify(taskRepository, times(1)).flushAndClear();
+        verify(taskRepository, times(1)).flush();
+        verify(eventPublisher, times(3)).publishEvent(any(TaskChangedEvent.class));
+    }
+    @Test
+    @DisplayName("Failure - createTasksBulk - a repeat without dueDate rejects the whole batch")
+    void failureCreateTasksBulkRepeatWithoutDueDate() {
+        TaskRequestDto invalid = TaskRequestDto.builder().title("Repeat").description("d").isRepeat(true).build();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.createTasksBulk(List.of(taskRequestDto, invalid), userId));
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+    @Test
+    @DisplayName("Success - updateStatusBulk - updates every task of the user")
+    void successUpdateStatusBulk() {
+        when(taskRepository.findAllById(Set.of(1L, 2L))).thenReturn(taskList);
+
+        var result = taskService.updateStatusBulk(List.of(1L, 2L, 1L), Status.ARCHIVED, userId);
+
+        assertThat(result).extracting(TaskResponseDto::getStatus).containsOnly(Status.ARCHIVED);
+        verify(taskRepository).flush();
+        verify(eventPublisher, times(2)).publishEvent(any(TaskChangedEvent.class));
+    }
+    @Test
+    @DisplayName("Failure - updateStatusBulk - missing or foreign tasks")
+    void failureUpdateStatusBulk() {
+        when(taskRepository.findAllById(Set.of(1L, 3L))).thenReturn(List.of(taskList.get(0)));
+        assertThrows(ResourceNotFoundException.class,
+                () -> taskService.updateStatusBulk(List.of(1L, 3L), Status.ARCHIVED, userId));
+
+        when(taskRepository.findAllById(Set.of(1L, 2L))).thenReturn(taskList);
+        assertThrows(AccessDeniedException.class,
+                () -> taskService.updateStatusBulk(List.of(1L, 2L), Status.ARCHIVED, 2L));
+        assertThat(taskList).extracting(Task::getStatus).doesNotContain(Status.ARCHIVED);
+        verify(taskRepository, never()).flush();
+    }
+}
@@ -0,0 +1,63 @@
+package com.taskService.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TaskSortResolverTest {
+    private SimpleMeterRegistry meterRegistry;
+    private TaskSortResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        resolver = new TaskSortResolver(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Success - resolve - default sort is dueDate with an ascending id tiebreaker")
+    void resolve_default() {
+        assertThat(resolver.resolve(null, "all", false))
+                .isEqualTo(Sort.by(Sort.Order.asc("dueDate"), Sort.Order.asc("id")));
+    }
+
+    @Test
+    @DisplayName("Success - resolve - split direction param and explicit id tiebreaker")
+    void resolve_splitDirectionAndTrailingId() {
+        Sort expected = Sort.by(Sort.Order.desc("title"), Sort.Order.desc("id"));
+        assertThat(resolver.resolve(List.of("TITLE", "desc"), "all", false)).isEqualTo(expected);
+        assertThat(resolver.resolve(List.of("title,desc", "id,desc"), "all", true)).isEqualTo(expected);
+        assertThat(resolver.resolve(List.of("id,desc"), "all", true)).isEqualTo(Sort.by(Sort.Order.desc("id")));
+    }
+
+    @Test
+    @DisplayName("Failure - resolve - keys outside the allow-list, several keys or bad directions")
+    void resolve_rejectsUnsupported() {
+        assertThrows(IllegalArgumentException.class, () -> resolver.resolve(List.of("description"), "all", false));
+        assertThrows(IllegalArgumentException.class, () -> resolver.resolve(List.of("dueDate,asc", "title,asc"), "all", false));
+        assertThrows(IllegalArgumentException.class, () -> resolver.resolve(List.of("dueDate,up"), "all", false));
+        assertThrows(IllegalArgumentException.class, () -> resolver.resolve(List.of("priority,desc"), "all", true));
+        assertThat(meterRegistry.find("task.list.sort").counters()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Success - resolve - counts requests per sort plan")
+    void resolve_countsPlans() {
+        resolver.resolve(List.of("priority,desc"), "archived", false);
+        resolver.resolve(List.of("priority,desc"), "archived", false);
+
+        assertThat(meterRegistry.get("task.list.sort")
+                .tag("listing", "archived")
+                .tag("key", "priority")
+                .tag("direction", "desc")
+                .tag("index", "idx_task_user_priority")
+                .counter().count()).isEqualTo(2.0);
+    }
+}
@@ -0,0 +1,51 @@
+package com.taskService.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimingWheelTest {
+
+    @Test
+    @DisplayName("Succeed - advance - timers on every level expire on the first tick after their deadline")
+    void advance_shouldExpireAcrossLevels() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 4, 3, 0);
+        assertTrue(wheel.schedule("level0", 2_500));
+        assertTrue(wheel.schedule("level1", 10_000));
+        assertTrue(wheel.schedule("level2", 40_000));
+
+        assertEquals(List.of(), wheel.advance(2_999));
+        assertEquals(List.of("level0"), wheel.advance(3_000));
+        assertEquals(List.of(), wheel.advance(10_999));
+        assertEquals(List.of("level1"), wheel.advance(11_000));
+        assertEquals(List.of(), wheel.advance(40_999));
+        assertEquals(List.of("level2"), wheel.advance(41_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Succeed - schedule - rescheduling replaces the timer and cancel removes it")
+    void schedule_shouldReplaceAndCancel() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 4, 3, 0);
+        wheel.schedule("task", 5_000);
+        wheel.schedule("task", 20_000);
+        wheel.schedule("other", 7_000);
+        assertTrue(wheel.cancel("other"));
+
+        assertEquals(List.of(), wheel.advance(19_000));
+        assertEquals(List.of("task"), wheel.advance(30_000));
+    }
+
+    @Test
+    @DisplayName("Rejected - schedule - past deadlines and deadlines beyond the wheel span")
+    void schedule_outOfRange_shouldBeRejected() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 4, 3, 10_000);
+
+        assertFalse(wheel.schedule("past", 9_000));
+        assertFalse(wheel.schedule("far", 10_000 + wheel.spanMs()));
+        assertEquals(0, wheel.size());
+    }
+}
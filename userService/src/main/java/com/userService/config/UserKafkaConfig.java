@@ -103,4 +103,12 @@ public class UserKafkaConfig {
                 .configs(Map.of("min.insync.replicas", "2"))
                 .build();
     }
+    @Bean
+    public NewTopic userUpdatedTopic() {
+        return TopicBuilder.name("user-updated-events")
+                .partitions(3)
+                .replicas(3)
+                .configs(Map.of("min.insync.replicas", "2"))
+                .build();
+    }
 }
@@ -4,9 +4,11 @@ import by.info_microservice.core.LinkTelegramRequest;
 import com.userService.dto.*;
 import com.userService.model.User;
 import com.userService.repository.UserRepository;
+import com.userService.service.UserEventProducer;
 import com.userService.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -20,6 +22,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -30,6 +33,7 @@ import java.util.Optional;
 public class UserController {
     private final UserService userService;
     private final UserRepository userRepository;
+    private final UserEventProducer userEventProducer;
     @Operation(summary = "Get User by ID (Internal Use)",
             description = "Retrieves user details by ID. This endpoint is typically used by other microservices.",
             tags = {"Internal Access"})
@@ -46,6 +50,16 @@ public class UserController {
         if (dto == null) return ResponseEntity.notFound().build();
         return ResponseEntity.ok(dto);
     }
+    @Operation(summary = "Get Users by IDs (Internal Use)",
+            description = "Retrieves details of several users in one call. Unknown IDs are skipped. Used by task-service to resolve notification recipients in batches.",
+            tags = {"Internal Access"})
+    @ApiResponse(responseCode = "200", description = "Found users returned.",
+            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = UserDto.class))))
+
+    @PostMapping("/internal/batch")
+    public ResponseEntity<List<UserDto>> getUsersForInternal(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(userService.findUsersByIds(ids));
+    }
     @Operation(summary = "Register user",
             description = "Creates a new user account, encrypts the password, sends a welcome/verification notification, and returns JWT tokens.",
             tags = {"Authentication"},
@@ -174,6 +188,7 @@ public class UserController {
         User u = user.get();
         u.setTelegramChatId(request.getChatId());
         userRepository.save(u);
+        userEventProducer.sendUserUpdatedEvent(u, "TELEGRAM_LINKED");
         return ResponseEntity.ok("Linked");
     }
 
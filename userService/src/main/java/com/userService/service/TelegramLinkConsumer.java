@@ -18,6 +18,7 @@ public class TelegramLinkConsumer {
 
     private final UserRepository userRepository;
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final UserEventProducer userEventProducer;
 
     @KafkaListener(topics = "telegram-link-requests", groupId = "user-service-group")
     public void consume(LinkTelegramRequest request) {
@@ -26,6 +27,7 @@ public class TelegramLinkConsumer {
         userRepository.findByTelegramLinkToken(request.getToken()).ifPresentOrElse(user -> {
             user.setTelegramChatId(request.getChatId());
             userRepository.save(user);
+            userEventProducer.sendUserUpdatedEvent(user, "TELEGRAM_LINKED");
 
             kafkaTemplate.send("telegram-link-responses",
                     request.getChatId().toString(),
@@ -1,10 +1,14 @@
 package com.userService.service;
+import by.info_microservice.core.UserUpdatedEventDto;
 import by.info_microservice.core.UserVerificationEventDto;
 import com.userService.exception.EventPublishException;
+import com.userService.model.User;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -21,5 +25,27 @@ public class UserEventProducer {
             throw new EventPublishException("Failed to publish verification event", e);
         }
     }
+    // Cache invalidation hint for other services: a lost event only means a stale entry until its TTL expires,
+    // so this never blocks or fails the calling transaction.
+    public void sendUserUpdatedEvent(User user, String eventType) {
+        UserUpdatedEventDto event = UserUpdatedEventDto.builder()
+                .userId(user.getId())
+                .email(user.getEmail())
+                .telegramChatId(user.getTelegramChatId())
+                .eventType(eventType)
+                .createdAt(LocalDateTime.now())
+                .build();
+        try {
+            kafkaTemplate.send("user-updated-events", user.getId().toString(), event)
+                    .whenComplete((result, ex) -> {
+                        if (ex != null) {
+                            log.warn("Failed to publish user-updated event for userId={}: {}", user.getId(), ex.getMessage());
+                        } else {
+                            log.debug("Published user-updated event {} for userId={}", eventType, user.getId());
+                        }
+                    });
+        } catch (Exception e) {
+            log.warn("Failed to publish user-updated event for userId={}: {}", user.getId(), e.getMessage());
+        }
+    }
 }
-
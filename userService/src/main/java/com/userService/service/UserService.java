@@ -22,7 +22,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -77,6 +80,7 @@ public class UserService {
         } catch (Exception e) {
             log.error("Failed to publish verification event for userId={}. Error: {}", savedUser.getId(), e.getMessage(), e);
         }
+        userEventProducer.sendUserUpdatedEvent(savedUser, "USER_REGISTERED");
         Map<String, Object> extra = new HashMap<>();
         extra.put("userId", user.getId());
         String jwtAccessToken = jwtService.generateToken(extra, user);
@@ -165,19 +169,31 @@ public class UserService {
 
 public UserDto findUserById(Long userId) {
     return userRepository.findById(userId)
-            .map(user -> UserDto.builder()
-                    .id(user.getId())
-                    .name(user.getUsername())
-                    .email(user.getEmail())
-                    .telegramChatId(user.getTelegramChatId())
-                    .build())
+            .map(this::toUserDto)
             .orElse(null);
 }
+    public List<UserDto> findUsersByIds(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return List.of();
+        }
+        return userRepository.findAllById(new HashSet<>(userIds)).stream()
+                .map(this::toUserDto)
+                .toList();
+    }
+    private UserDto toUserDto(User user) {
+        return UserDto.builder()
+                .id(user.getId())
+                .name(user.getUsername())
+                .email(user.getEmail())
+                .telegramChatId(user.getTelegramChatId())
+                .build();
+    }
     public void updateTelegramChatId(Long userId, Long chatId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
         user.setTelegramChatId(chatId);
         userRepository.save(user);
+        userEventProducer.sendUserUpdatedEvent(user, "TELEGRAM_LINKED");
     }
     public UserDto getByEmail(String email) {
         User user = userRepository.findByEmail(email)
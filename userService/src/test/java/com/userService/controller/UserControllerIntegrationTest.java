@@ -29,6 +29,7 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.is;
@@ -241,5 +242,17 @@ public class UserControllerIntegrationTest {
                         .content(objectMapper.writeValueAsString(requestDto)))
                 .andExpect(status().isNoContent());
     }
+    @Test
+    @DisplayName("Success - internal batch - returns only existing users")
+    void internalBatchSuccessful() throws Exception {
+        User first = userRepository.save(new User("first", "first@example.com", "password123", true));
+        User second = userRepository.save(new User("second", "second@example.com", "password123", true));
+
+        mockMvc.perform(post("/api/auth/internal/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(first.getId(), second.getId(), -1L))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)));
+    }
 
 }
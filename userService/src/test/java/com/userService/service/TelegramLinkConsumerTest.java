@@ -30,6 +30,8 @@ public class TelegramLinkConsumerTest {
 
     @Mock
     private KafkaTemplate<String, Object> kafkaTemplate;
+    @Mock
+    private UserEventProducer userEventProducer;
 
     @InjectMocks
     private TelegramLinkConsumer consumer;
@@ -55,6 +57,7 @@ public class TelegramLinkConsumerTest {
 
         assertThat(user.getTelegramChatId()).isEqualTo(12345L);
         verify(userRepository).save(user);
+        verify(userEventProducer).sendUserUpdatedEvent(user, "TELEGRAM_LINKED");
         verify(kafkaTemplate).send(
                 "telegram-link-responses",
                 "12345",
@@ -76,6 +79,7 @@ public class TelegramLinkConsumerTest {
                 new LinkTelegramResponse(12345L, false)
         );
         verify(userRepository, never()).save(any());
+        verifyNoInteractions(userEventProducer);
     }
 
 }
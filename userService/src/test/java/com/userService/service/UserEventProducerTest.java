@@ -1,7 +1,9 @@
 package com.userService.service;
 
+import by.info_microservice.core.UserUpdatedEventDto;
 import by.info_microservice.core.UserVerificationEventDto;
 import com.userService.exception.EventPublishException;
+import com.userService.model.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,6 +19,7 @@ import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -75,4 +78,35 @@ public class UserEventProducerTest {
         verify(kafkaTemplate,times(1)).send(eq(TOPIC), eq(KEY), eq(event));
 
     }
+    @Test
+    @DisplayName("Success - sendUserUpdatedEvent publishes to user-updated-events keyed by userId")
+    void sendUserUpdatedEvent_successful() {
+        User user = new User();
+        user.setId(USER_ID);
+        user.setEmail("test@example.com");
+        user.setTelegramChatId(555L);
+        SendResult<String, Object> sendResult = mock(SendResult.class);
+        when(kafkaTemplate.send(eq("user-updated-events"), eq(KEY), any(UserUpdatedEventDto.class)))
+                .thenReturn(CompletableFuture.completedFuture(sendResult));
+
+        producer.sendUserUpdatedEvent(user, "TELEGRAM_LINKED");
+
+        verify(kafkaTemplate).send(eq("user-updated-events"), eq(KEY), argThat(e ->
+                e instanceof UserUpdatedEventDto dto
+                        && dto.getUserId().equals(USER_ID)
+                        && dto.getTelegramChatId().equals(555L)
+                        && dto.getEventType().equals("TELEGRAM_LINKED")));
+    }
+
+    @Test
+    @DisplayName("Failure - sendUserUpdatedEvent does not propagate Kafka errors")
+    void sendUserUpdatedEvent_failureIsSwallowed() {
+        User user = new User();
+        user.setId(USER_ID);
+        CompletableFuture<SendResult<String, Object>> fail = new CompletableFuture<>();
+        fail.completeExceptionally(new RuntimeException("Kafka fails"));
+        when(kafkaTemplate.send(eq("user-updated-events"), eq(KEY), any(UserUpdatedEventDto.class))).thenReturn(fail);
+
+        assertDoesNotThrow(() -> producer.sendUserUpdatedEvent(user, "USER_REGISTERED"));
+    }
 }
@@ -5,6 +5,7 @@ import com.userService.dto.AuthenticationRequestDto;
 import com.userService.dto.AuthenticationResponseDto;
 import com.userService.dto.RefreshTokenRequestDto;
 import com.userService.dto.RegisterRequestDto;
+import com.userService.dto.UserDto;
 import com.userService.exception.*;
 import com.userService.model.EmailVerificationTokens;
 import com.userService.model.RefreshToken;
@@ -27,7 +28,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -117,6 +120,7 @@ public class UserServiceTest {
         verify(jwtService).generateToken(anyMap(), any(User.class));
         verify(refreshTokenService).createRefreshToken(1L);
         verify(emailVerificationTokensRepository).save(any(EmailVerificationTokens.class));
+        verify(userEventProducer).sendUserUpdatedEvent(user, "USER_REGISTERED");
     }
     @Test
     @DisplayName("BadRequestException - register - User with this email already exists")
@@ -253,4 +257,37 @@ public class UserServiceTest {
         userService.logout("invalidRefreshToken");
         verify(refreshTokenService,never()).delete(refreshToken);
     }
+    @Test
+    @DisplayName("Success - findUsersByIds - one query for all ids")
+    void findUsersByIdsSuccess() {
+        User second = new User();
+        second.setId(2L);
+        second.setUsername("second");
+        second.setEmail("second@example.com");
+        second.setTelegramChatId(555L);
+        when(userRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(user, second));
+
+        List<UserDto> users = userService.findUsersByIds(List.of(1L, 2L, 1L));
+
+        assertThat(users).extracting(UserDto::getId).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(users).filteredOn(u -> u.getId().equals(2L)).extracting(UserDto::getTelegramChatId).containsExactly(555L);
+        verify(userRepository, times(1)).findAllById(any());
+    }
+    @Test
+    @DisplayName("Success - findUsersByIds - empty ids skip the query")
+    void findUsersByIdsEmpty() {
+        assertThat(userService.findUsersByIds(List.of())).isEmpty();
+        verify(userRepository, never()).findAllById(any());
+    }
+    @Test
+    @DisplayName("Success - updateTelegramChatId - publishes user-updated event")
+    void updateTelegramChatIdSuccess() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        userService.updateTelegramChatId(1L, 777L);
+
+        assertThat(user.getTelegramChatId()).isEqualTo(777L);
+        verify(userRepository).save(user);
+        verify(userEventProducer).sendUserUpdatedEvent(user, "TELEGRAM_LINKED");
+    }
 }